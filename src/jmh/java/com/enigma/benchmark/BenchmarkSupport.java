@@ -0,0 +1,35 @@
+package com.enigma.benchmark;
+
+import com.enigma.component.WiringVersion;
+import com.enigma.config.EnigmaProperties;
+import com.enigma.core.EnigmaConfiguration;
+
+final class BenchmarkSupport {
+    private BenchmarkSupport() {
+    }
+
+    static EnigmaConfiguration configuration(EnigmaProperties properties, int rotorCount) {
+        return configuration(properties, rotorCount, WiringVersion.V1);
+    }
+
+    static EnigmaConfiguration configuration(EnigmaProperties properties, int rotorCount,
+                                             WiringVersion wiringVersion) {
+        EnigmaConfiguration.Builder builder = new EnigmaConfiguration.Builder(properties)
+            .plugboardSeed(123456L)
+            .reflectorSeed(789012L)
+            .wiringVersion(wiringVersion);
+        for (int i = 0; i < rotorCount; i++) {
+            builder.addRotor(345678L + i, i, (5 * i + 3) % 95);
+        }
+        return builder.build();
+    }
+
+    // Printable ASCII with the occasional newline, like the text the service normally sees
+    static String message(int length) {
+        StringBuilder message = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            message.append(i % 80 == 79 ? '\n' : (char) (' ' + (i * 31) % 95));
+        }
+        return message.toString();
+    }
+}
@@ -0,0 +1,63 @@
+package com.enigma.benchmark;
+
+import com.enigma.component.Plugboard;
+import com.enigma.component.Reflector;
+import com.enigma.component.Rotor;
+import com.enigma.config.EnigmaProperties;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(ComponentBenchmark.LENGTH)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComponentBenchmark {
+    static final int LENGTH = 4096;
+
+    private Rotor rotor;
+    private Plugboard plugboard;
+    private Reflector reflector;
+    private char[] input;
+
+    @Setup
+    public void setUp() {
+        EnigmaProperties properties = new EnigmaProperties();
+        rotor = new Rotor(345678L, 0, 5, properties);
+        plugboard = new Plugboard(123456L, properties);
+        reflector = new Reflector(789012L, properties);
+        input = BenchmarkSupport.message(LENGTH).toCharArray();
+    }
+
+    @Benchmark
+    public void rotorTransform(Blackhole blackhole) {
+        for (char c : input) {
+            blackhole.consume(rotor.transform(c));
+        }
+    }
+
+    @Benchmark
+    public void rotorTransformReverse(Blackhole blackhole) {
+        for (char c : input) {
+            blackhole.consume(rotor.transformReverse(c));
+        }
+    }
+
+    @Benchmark
+    public void plugboardTransform(Blackhole blackhole) {
+        for (char c : input) {
+            blackhole.consume(plugboard.transform(c));
+        }
+    }
+
+    @Benchmark
+    public void reflectorTransform(Blackhole blackhole) {
+        for (char c : input) {
+            blackhole.consume(reflector.transform(c));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.enigma.benchmark;
+
+import com.enigma.component.WiringCache;
+import com.enigma.component.WiringVersion;
+import com.enigma.config.EnigmaProperties;
+import com.enigma.core.CompiledMachine;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+
+import java.util.concurrent.TimeUnit;
+
+// Cold machine build: wiring generation plus table compilation
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstructionBenchmark {
+    @Param({"2", "12"})
+    private int rotorCount;
+
+    @Param({"V1", "V2"})
+    private WiringVersion wiringVersion;
+
+    // Without the cache every build regenerates the wiring from its seeds
+    @Param({"false", "true"})
+    private boolean wiringCache;
+
+    private final EnigmaProperties properties = new EnigmaProperties();
+    private ByteBuffer serialized;
+
+    @Setup
+    public void setUp() {
+        WiringCache.shared().clear();
+        WiringCache.shared().setMaxSize(wiringCache ? WiringCache.DEFAULT_MAX_SIZE : 0);
+        CompiledMachine machine = compile();
+        serialized = ByteBuffer.allocateDirect(machine.serializedSize());
+        machine.writeTo(serialized);
+    }
+
+    @Benchmark
+    public CompiledMachine compile() {
+        return CompiledMachine.compile(BenchmarkSupport.configuration(properties, rotorCount, wiringVersion));
+    }
+
+    // Stored binary form: no wiring generation at all
+    @Benchmark
+    public CompiledMachine load() {
+        return CompiledMachine.read(serialized.clear());
+    }
+}
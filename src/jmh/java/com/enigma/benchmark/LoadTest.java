@@ -0,0 +1,155 @@
+package com.enigma.benchmark;
+
+import com.enigma.EnigmaApplication;
+import com.enigma.persistence.entity.MachineConfig;
+import com.enigma.persistence.entity.RotorConfiguration;
+import com.enigma.persistence.repository.MachineConfigRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load test for the encrypt endpoint. Starts the application on a random
+ * port, stores one configuration and keeps {@code concurrency} clients busy for
+ * {@code seconds}, then prints throughput and latency percentiles. Extra arguments go to
+ * Spring, e.g. {@code --spring.threads.virtual.enabled=true}:
+ * <pre>
+ * mvn -P benchmark compile exec:exec -Dbenchmark.main=com.enigma.benchmark.LoadTest \
+ *     -Djmh.args="400 20 256 --server.tomcat.threads.max=50"
+ * </pre>
+ */
+public final class LoadTest {
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int messageSize = args.length > 2 ? Integer.parseInt(args[2]) : 256;
+        String[] springArgs = args.length > 3 ? Arrays.copyOfRange(args, 3, args.length) : new String[0];
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EnigmaApplication.class)
+                .run(withDefaults(springArgs))) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            long configId = context.getBean(MachineConfigRepository.class).save(configuration()).getId();
+            String body = "{\"configId\":" + configId + ",\"message\":\"" + message(messageSize) + "\"}";
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/enigma/encrypt"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+            // Warm-up is not recorded
+            run(request, concurrency, Math.max(1, seconds / 4));
+            Result result = run(request, concurrency, seconds);
+
+            long[] latencies = result.latencies();
+            Arrays.sort(latencies);
+            System.out.printf("concurrency=%d requests=%d errors=%d throughput=%.0f req/s%n",
+                concurrency, latencies.length, result.errors(), latencies.length / (double) seconds);
+            System.out.printf("latency ms: p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                percentile(latencies, 0.999), latencies.length > 0 ? latencies[latencies.length - 1] / 1e6 : 0);
+        }
+    }
+
+    // Command line arguments take precedence over application.yml, unlike default properties
+    private static String[] withDefaults(String[] springArgs) {
+        List<String> args = new ArrayList<>(List.of("--server.port=0", "--spring.jpa.show-sql=false",
+            "--logging.level.root=WARN", "--logging.level.com.enigma=WARN"));
+        args.addAll(Arrays.asList(springArgs));
+        return args.toArray(String[]::new);
+    }
+
+    private static Result run(HttpRequest request, int concurrency, int seconds) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        // The client keeps its own executor; sharing the blocked worker pool would deadlock it
+        HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> workers = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(clients.submit(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                        continue;
+                    }
+                    if (count == samples.length) {
+                        samples = Arrays.copyOf(samples, count * 2);
+                    }
+                    samples[count++] = System.nanoTime() - start;
+                }
+                return Arrays.copyOf(samples, count);
+            }));
+        }
+
+        long[] all = new long[0];
+        for (Future<long[]> worker : workers) {
+            long[] samples = worker.get();
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + samples.length);
+            System.arraycopy(samples, 0, all, offset, samples.length);
+        }
+        clients.shutdown();
+        return new Result(all, errors.get());
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1e6;
+    }
+
+    private static MachineConfig configuration() {
+        MachineConfig config = new MachineConfig();
+        config.setPlugboardSeed(123456L);
+        config.setReflectorSeed(789012L);
+        List<RotorConfiguration> rotors = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            RotorConfiguration rotor = new RotorConfiguration();
+            rotor.setSeed(345678L + i);
+            rotor.setStartPosition(i);
+            rotor.setNotchPosition((5 * i + 3) % 95);
+            rotors.add(rotor);
+        }
+        config.setRotorConfigurations(rotors);
+        return config;
+    }
+
+    // JSON-safe printable text
+    private static String message(int length) {
+        StringBuilder message = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            message.append((char) ('a' + i % 26));
+        }
+        return message.toString();
+    }
+
+    private record Result(long[] latencies, long errors) {}
+}
@@ -0,0 +1,64 @@
+package com.enigma.benchmark;
+
+import com.enigma.config.EnigmaProperties;
+import com.enigma.core.CompiledMachine;
+import com.enigma.core.EnigmaMachine;
+import com.enigma.core.OffHeapMachineStore;
+import com.enigma.core.RotorState;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class MachineBenchmark {
+    @Param({"64", "4096", "1048576"})
+    private int messageSize;
+
+    @Param({"2", "6", "12"})
+    private int rotorCount;
+
+    @Param({"scalar", "composite", "vector", "offheap"})
+    private String engine;
+
+    private EnigmaMachine machine;
+    private CompiledMachine compiled;
+    private RotorState state;
+    private String message;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        compiled = CompiledMachine.compile(
+            BenchmarkSupport.configuration(new EnigmaProperties(), rotorCount));
+        if (engine.equals("composite")) {
+            compiled = compiled.withCompositeTables(64);
+        } else if (engine.equals("vector")) {
+            compiled = compiled.withVectorKernel();
+        } else if (engine.equals("offheap")) {
+            compiled = new OffHeapMachineStore(1 << 20, 1 << 20).put(1L, 0L, compiled);
+        }
+        machine = new EnigmaMachine(compiled);
+        message = BenchmarkSupport.message(messageSize);
+        bytes = message.getBytes(StandardCharsets.US_ASCII);
+        state = compiled.newState();
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return machine.encrypt(message);
+    }
+
+    // In place on ASCII bytes: no String, char[] or result allocation
+    @Benchmark
+    public byte[] encryptBytes() {
+        compiled.reset(state);
+        compiled.process(bytes, 0, bytes.length, state);
+        return bytes;
+    }
+}
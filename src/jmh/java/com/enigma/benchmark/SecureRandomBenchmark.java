@@ -0,0 +1,31 @@
+package com.enigma.benchmark;
+
+import com.enigma.util.SecureRandom;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecureRandomBenchmark {
+    private SecureRandom random;
+
+    @Setup
+    public void setUp() {
+        random = new SecureRandom(42L);
+    }
+
+    @Benchmark
+    public int nextInt() {
+        return random.nextInt(95);
+    }
+
+    @Benchmark
+    public SecureRandom construct() {
+        return new SecureRandom(42L);
+    }
+}
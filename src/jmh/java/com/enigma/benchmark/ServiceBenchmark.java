@@ -0,0 +1,90 @@
+package com.enigma.benchmark;
+
+import com.enigma.component.WiringCache;
+import com.enigma.config.EnigmaProperties;
+import com.enigma.monitoring.EnigmaMetrics;
+import com.enigma.persistence.entity.MachineConfig;
+import com.enigma.persistence.entity.RotorConfiguration;
+import com.enigma.persistence.repository.MachineConfigRepository;
+import com.enigma.service.CompiledMachineCache;
+import com.enigma.service.EnigmaService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service layer cost with the repository stubbed out. A cache size of zero forces every
+ * call through {@code createMachine} and also disables the shared wiring cache, so that
+ * variant measures full machine construction including wiring generation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceBenchmark {
+    @Param({"2", "6", "12"})
+    private int rotorCount;
+
+    @Param({"0", "256"})
+    private int cacheSize;
+
+    private EnigmaService service;
+    private String message;
+
+    @Setup
+    public void setUp() {
+        EnigmaProperties properties = new EnigmaProperties();
+        properties.getCache().setMaxSize(cacheSize);
+        if (cacheSize == 0) {
+            // Each parameter combination runs in its own fork, so this does not leak into others
+            WiringCache.shared().setMaxSize(0);
+            WiringCache.shared().clear();
+        }
+        EnigmaMetrics metrics = new EnigmaMetrics(new SimpleMeterRegistry());
+        CompiledMachineCache cache = new CompiledMachineCache(properties, metrics);
+        service = new EnigmaService(repository(config(rotorCount)), properties, cache, metrics);
+        message = BenchmarkSupport.message(64);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return service.encrypt(message, 1L);
+    }
+
+    private static MachineConfig config(int rotorCount) {
+        MachineConfig config = new MachineConfig();
+        config.setId(1L);
+        config.setVersion(0L);
+        config.setPlugboardSeed(123456L);
+        config.setReflectorSeed(789012L);
+        List<RotorConfiguration> rotors = new ArrayList<>();
+        for (int i = 0; i < rotorCount; i++) {
+            RotorConfiguration rotor = new RotorConfiguration();
+            rotor.setSeed(345678L + i);
+            rotor.setStartPosition(i);
+            rotor.setNotchPosition((5 * i + 3) % 95);
+            rotors.add(rotor);
+        }
+        config.setRotorConfigurations(rotors);
+        return config;
+    }
+
+    private static MachineConfigRepository repository(MachineConfig config) {
+        return (MachineConfigRepository) Proxy.newProxyInstance(
+            MachineConfigRepository.class.getClassLoader(),
+            new Class<?>[] {MachineConfigRepository.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("findWithRotorsById")) {
+                    return Optional.of(config);
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+    }
+}
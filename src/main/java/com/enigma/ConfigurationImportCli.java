@@ -0,0 +1,42 @@
+package com.enigma;
+
+import com.enigma.service.ConfigurationImporter;
+import com.enigma.service.ImportFormat;
+import com.enigma.service.ImportResult;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command line entry point for bulk configuration import from a JSON-lines or CSV file
+ * (chosen by extension): {@code java -cp enigma-machine.jar
+ * -Dloader.main=com.enigma.ConfigurationImportCli
+ * org.springframework.boot.loader.launch.PropertiesLauncher <file>}
+ */
+public class ConfigurationImportCli {
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            System.err.println("Usage: ConfigurationImportCli <file.jsonl|file.csv>");
+            System.exit(2);
+        }
+        Path input = Path.of(args[0]);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EnigmaApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--enigma.warmup.enabled=false");
+             InputStream in = Files.newInputStream(input)) {
+            ImportResult result = context.getBean(ConfigurationImporter.class)
+                .importConfigurations(in, ImportFormat.forFileName(input.getFileName().toString()));
+            System.out.printf("Imported %d configurations (%d rejected) in %.3f s (%.0f rows/s)%n",
+                result.imported(), result.rejected(), result.elapsedNanos() / 1e9, result.rowsPerSecond());
+            result.errors().forEach(System.err::println);
+            if (!result.completed()) {
+                System.exit(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.enigma;
+
+import com.enigma.core.FileProcessingResult;
+import com.enigma.service.EnigmaService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+
+/**
+ * Command line entry point for bulk file encryption with a stored configuration:
+ * {@code java -cp enigma-machine.jar -Dloader.main=com.enigma.EnigmaFileCli
+ * org.springframework.boot.loader.launch.PropertiesLauncher <configId> <input> <output>}
+ */
+public class EnigmaFileCli {
+    public static void main(String[] args) throws Exception {
+        if (args.length != 3) {
+            System.err.println("Usage: EnigmaFileCli <configId> <input> <output>");
+            System.exit(2);
+        }
+        Long configId = Long.valueOf(args[0]);
+        Path input = Path.of(args[1]);
+        Path output = Path.of(args[2]);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EnigmaApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--enigma.warmup.enabled=false")) {
+            FileProcessingResult result = context.getBean(EnigmaService.class)
+                .processFile(configId, input, output);
+            System.out.printf("Processed %d bytes in %.3f s (%.1f MB/s)%n",
+                result.bytes(), result.elapsedNanos() / 1e9, result.megabytesPerSecond());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.enigma.api.controller;
+
+import com.enigma.api.dto.ConfigurationRequest;
+import com.enigma.api.dto.ConfigurationResponse;
+import com.enigma.api.dto.ImportResponse;
+import com.enigma.persistence.entity.MachineConfig;
+import com.enigma.service.ConfigurationCommand;
+import com.enigma.service.ConfigurationImporter;
+import com.enigma.service.ConfigurationService;
+import com.enigma.service.ImportFormat;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/enigma/config")
+@Validated
+public class ConfigurationController {
+    private final ConfigurationService configurationService;
+    private final ConfigurationImporter configurationImporter;
+
+    public ConfigurationController(ConfigurationService configurationService,
+                                   ConfigurationImporter configurationImporter) {
+        this.configurationService = configurationService;
+        this.configurationImporter = configurationImporter;
+    }
+
+    @GetMapping
+    public Page<ConfigurationResponse> list(Pageable pageable) {
+        return configurationService.list(pageable).map(ConfigurationResponse::from);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ConfigurationResponse> get(@PathVariable Long id) {
+        return ResponseEntity.ok(ConfigurationResponse.from(configurationService.get(id)));
+    }
+
+    @PostMapping
+    public ResponseEntity<ConfigurationResponse> create(@Valid @RequestBody ConfigurationRequest request) {
+        MachineConfig created = configurationService.create(toCommand(request));
+        return ResponseEntity
+            .created(ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}").buildAndExpand(created.getId()).toUri())
+            .body(ConfigurationResponse.from(created));
+    }
+
+    // The body is read line by line straight from the request; it is never buffered whole
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ImportResponse> importConfigurations(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(ImportResponse.from(configurationImporter.importConfigurations(
+            request.getInputStream(), ImportFormat.forContentType(request.getContentType()))));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<ConfigurationResponse> update(@PathVariable Long id,
+                                                        @Valid @RequestBody ConfigurationRequest request) {
+        return ResponseEntity.ok(ConfigurationResponse.from(configurationService.update(id, toCommand(request))));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        configurationService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static ConfigurationCommand toCommand(ConfigurationRequest request) {
+        List<ConfigurationCommand.Rotor> rotors = request.getRotorConfigurations() == null ? null
+            : request.getRotorConfigurations().stream()
+                .map(rotor -> new ConfigurationCommand.Rotor(
+                    rotor.getSeed(), rotor.getStartPosition(), rotor.getNotchPosition()))
+                .toList();
+        return new ConfigurationCommand(request.getPlugboardSeed(), request.getReflectorSeed(),
+            request.getWiringVersion(), rotors, request.getVersion());
+    }
+}
@@ -1,17 +1,32 @@
 package com.enigma.api.controller;
 
+import com.enigma.api.dto.BatchRequest;
+import com.enigma.api.dto.BatchResponse;
 import com.enigma.api.dto.EncryptionRequest;
 import com.enigma.api.dto.EncryptionResponse;
+import com.enigma.api.dto.TraceRequest;
+import com.enigma.api.dto.TraceResponse;
+import com.enigma.core.SignalTrace;
+import com.enigma.service.BatchItem;
+import com.enigma.service.BatchResult;
 import com.enigma.service.EnigmaService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/enigma")
 @Validated
 public class EnigmaController {
+    private static final String STREAM_CONTENT_TYPE = "text/plain;charset=UTF-8";
+
     private final EnigmaService enigmaService;
 
     public EnigmaController(EnigmaService enigmaService) {
@@ -31,4 +46,43 @@ public class EnigmaController {
         String decrypted = enigmaService.decrypt(request.getMessage(), request.getConfigId());
         return ResponseEntity.ok(new EncryptionResponse(decrypted));
     }
+
+    @PostMapping("/trace")
+    public ResponseEntity<TraceResponse> trace(@Valid @RequestBody TraceRequest request) {
+        List<SignalTrace> traces = enigmaService.trace(request.getMessage(), request.getConfigId());
+        StringBuilder result = new StringBuilder(traces.size());
+        traces.forEach(trace -> result.append(trace.output()));
+        return ResponseEntity.ok(new TraceResponse(result.toString(), traces));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResponse> batch(@Valid @RequestBody BatchRequest request) {
+        List<BatchItem> items = request.getItems().stream()
+            .map(item -> new BatchItem(item.getMessage(), item.getConfigId(),
+                BatchItem.Operation.valueOf(item.getOperation().name())))
+            .toList();
+        List<BatchResult> results = enigmaService.processBatch(items, request.isParallel());
+        return ResponseEntity.ok(new BatchResponse(results.stream()
+            .map(result -> new BatchResponse.ItemResult(result.index(), result.result(), result.error()))
+            .toList()));
+    }
+
+    // Bytes go straight through the machine; no decoding to chars and back
+    @PostMapping(value = "/encrypt/stream",
+                 consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public void encryptStream(@RequestParam Long configId,
+                              HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        response.setContentType(STREAM_CONTENT_TYPE);
+        enigmaService.encrypt(configId, request.getInputStream(), response.getOutputStream());
+    }
+
+    @PostMapping(value = "/decrypt/stream",
+                 consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public void decryptStream(@RequestParam Long configId,
+                              HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        response.setContentType(STREAM_CONTENT_TYPE);
+        enigmaService.decrypt(configId, request.getInputStream(), response.getOutputStream());
+    }
 }
@@ -0,0 +1,34 @@
+package com.enigma.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchRequest {
+    @NotEmpty(message = "Batch must contain at least one item")
+    @Size(max = 10000, message = "Batch cannot contain more than 10000 items")
+    private List<@Valid Item> items;
+
+    private boolean parallel;
+
+    public enum Operation {
+        ENCRYPT, DECRYPT
+    }
+
+    @Data
+    public static class Item {
+        @NotNull(message = "Message must be provided")
+        private String message;
+
+        @NotNull(message = "Configuration ID must be provided")
+        private Long configId;
+
+        @NotNull(message = "Operation must be provided")
+        private Operation operation;
+    }
+}
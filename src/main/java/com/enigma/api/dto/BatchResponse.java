@@ -0,0 +1,20 @@
+package com.enigma.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BatchResponse {
+    private List<ItemResult> results;
+
+    @Data
+    @AllArgsConstructor
+    public static class ItemResult {
+        private int index;
+        private String result;
+        private String error;
+    }
+}
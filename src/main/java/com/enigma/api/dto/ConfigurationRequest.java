@@ -0,0 +1,39 @@
+package com.enigma.api.dto;
+
+import com.enigma.component.WiringVersion;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ConfigurationRequest {
+    @NotNull(message = "Plugboard seed must be provided")
+    private Long plugboardSeed;
+
+    @NotNull(message = "Reflector seed must be provided")
+    private Long reflectorSeed;
+
+    // Defaults to V1 when omitted
+    private WiringVersion wiringVersion;
+
+    @NotEmpty(message = "At least one rotor must be provided")
+    private List<@NotNull(message = "Rotor configuration must not be null") @Valid Rotor> rotorConfigurations;
+
+    // Optional on update: the version the client last read, rejected if it is stale
+    private Long version;
+
+    @Data
+    public static class Rotor {
+        @NotNull(message = "Rotor seed must be provided")
+        private Long seed;
+
+        @NotNull(message = "Start position must be provided")
+        private Integer startPosition;
+
+        @NotNull(message = "Notch position must be provided")
+        private Integer notchPosition;
+    }
+}
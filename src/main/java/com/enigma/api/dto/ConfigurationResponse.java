@@ -0,0 +1,30 @@
+package com.enigma.api.dto;
+
+import com.enigma.component.WiringVersion;
+import com.enigma.persistence.entity.MachineConfig;
+import com.enigma.persistence.entity.RotorConfiguration;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ConfigurationResponse {
+    private Long id;
+    private Long version;
+    private Long plugboardSeed;
+    private Long reflectorSeed;
+    private WiringVersion wiringVersion;
+    private List<RotorConfiguration> rotorConfigurations;
+
+    public static ConfigurationResponse from(MachineConfig config) {
+        return new ConfigurationResponse(
+            config.getId(),
+            config.getVersion(),
+            config.getPlugboardSeed(),
+            config.getReflectorSeed(),
+            config.getWiringVersion() != null ? config.getWiringVersion() : WiringVersion.V1,
+            List.copyOf(config.getRotorConfigurations()));
+    }
+}
@@ -0,0 +1,23 @@
+package com.enigma.api.dto;
+
+import com.enigma.service.ImportResult;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ImportResponse {
+    private long imported;
+    private long rejected;
+    private boolean completed;
+    private double elapsedSeconds;
+    private double rowsPerSecond;
+    private List<String> errors;
+
+    public static ImportResponse from(ImportResult result) {
+        return new ImportResponse(result.imported(), result.rejected(), result.completed(),
+            result.elapsedNanos() / 1e9, result.rowsPerSecond(), result.errors());
+    }
+}
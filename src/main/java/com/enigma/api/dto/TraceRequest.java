@@ -0,0 +1,16 @@
+package com.enigma.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class TraceRequest {
+    @NotBlank(message = "Message cannot be empty")
+    @Size(max = 256, message = "Traced messages are limited to 256 characters")
+    private String message;
+
+    @NotNull(message = "Configuration ID must be provided")
+    private Long configId;
+}
@@ -0,0 +1,14 @@
+package com.enigma.api.dto;
+
+import com.enigma.core.SignalTrace;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TraceResponse {
+    private String result;
+    private List<SignalTrace> characters;
+}
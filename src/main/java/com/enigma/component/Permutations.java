@@ -0,0 +1,41 @@
+package com.enigma.component;
+
+import com.enigma.util.SecureRandom;
+
+/** Seeded constructions behind {@link WiringVersion#V2}. */
+final class Permutations {
+    private Permutations() {
+    }
+
+    // Fisher–Yates shuffle of 0..size-1
+    static int[] shuffle(SecureRandom random, int size) {
+        int[] permutation = new int[size];
+        for (int i = 0; i < size; i++) {
+            permutation[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = tmp;
+        }
+        return permutation;
+    }
+
+    /**
+     * Random pairing of 0..size-1 as an involution: adjacent entries of a shuffle are
+     * swapped with each other. On an odd size the last entry maps to itself.
+     */
+    static int[] pairing(SecureRandom random, int size) {
+        int[] order = shuffle(random, size);
+        int[] pairs = new int[size];
+        for (int i = 0; i + 1 < size; i += 2) {
+            pairs[order[i]] = order[i + 1];
+            pairs[order[i + 1]] = order[i];
+        }
+        if (size % 2 == 1) {
+            pairs[order[size - 1]] = order[size - 1];
+        }
+        return pairs;
+    }
+}
@@ -2,23 +2,36 @@ package com.enigma.component;
 
 import com.enigma.config.EnigmaProperties;
 import com.enigma.util.SecureRandom;
-import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
-import java.util.Map;
-
-@Component
 public class Plugboard {
-    private final Map<Character, Character> connections;
+    // Dense lookup over the charset range: connections[c - start] is the partner of c
+    private final char[] connections;
+    private final char start;
     private final long seed;
 
     public Plugboard(long seed, EnigmaProperties properties) {
+        this(seed, WiringVersion.V1, properties);
+    }
+
+    public Plugboard(long seed, WiringVersion wiring, EnigmaProperties properties) {
         this.seed = seed;
-        this.connections = initializeConnections(properties);
+        this.start = properties.getCharset().getStart();
+        this.connections = WiringCache.shared().get(WiringCache.Kind.PLUGBOARD, seed, wiring,
+            properties.getCharset().getStart(), properties.getCharset().getEnd(),
+            () -> wiring == WiringVersion.V2 ? initializePairing(properties) : initializeConnections(properties));
     }
 
-    private Map<Character, Character> initializeConnections(EnigmaProperties properties) {
-        Map<Character, Character> map = new HashMap<>();
+    private char[] initializePairing(EnigmaProperties properties) {
+        int size = properties.getCharset().getEnd() - properties.getCharset().getStart() + 1;
+        int[] pairs = Permutations.pairing(new SecureRandom(seed), size);
+        char[] table = new char[size];
+        for (int i = 0; i < size; i++) {
+            table[i] = (char) (start + pairs[i]);
+        }
+        return table;
+    }
+
+    private char[] initializeConnections(EnigmaProperties properties) {
         SecureRandom random = new SecureRandom(seed);
         
         // Initialize character set
@@ -28,31 +41,55 @@ public class Plugboard {
         }
         
         // Create random pairings
+        char[] table = new char[chars.length];
+        boolean[] paired = new boolean[chars.length];
+        int pairedCount = 0;
         for (int i = 0; i < chars.length; i++) {
-            if (!map.containsKey(chars[i])) {
+            if (!paired[i]) {
+                if (pairedCount == chars.length - 1) {
+                    // Odd-sized charset: the last character stays unplugged
+                    table[i] = chars[i];
+                    break;
+                }
                 int j = random.nextInt(chars.length);
-                while (map.containsKey(chars[j]) || i == j) {
+                while (paired[j] || i == j) {
                     j = random.nextInt(chars.length);
                 }
-                map.put(chars[i], chars[j]);
-                map.put(chars[j], chars[i]);
+                table[i] = chars[j];
+                table[j] = chars[i];
+                paired[i] = paired[j] = true;
+                pairedCount += 2;
             }
         }
         
-        return map;
+        return table;
     }
 
     public char transform(char c) {
-        return connections.getOrDefault(c, c);
+        int index = c - start;
+        if (index < 0 || index >= connections.length) {
+            return c;
+        }
+        return connections[index];
+    }
+
+    public char[] getConnections() {
+        return connections.clone();
+    }
+
+    public char getStart() {
+        return start;
     }
 
     public String getConnectionsTable() {
         StringBuilder table = new StringBuilder("Plugboard Connections:\n");
-        connections.forEach((k, v) -> {
+        for (int i = 0; i < connections.length; i++) {
+            char k = (char) (start + i);
+            char v = connections[i];
             if (k < v) {  // Only show each pair once
                 table.append(String.format("%c <-> %c\n", k, v));
             }
-        });
+        }
         return table.toString();
     }
 }
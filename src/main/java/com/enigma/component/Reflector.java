@@ -2,23 +2,36 @@ package com.enigma.component;
 
 import com.enigma.config.EnigmaProperties;
 import com.enigma.util.SecureRandom;
-import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
-import java.util.Map;
-
-@Component
 public class Reflector {
-    private final Map<Character, Character> mappings;
+    // Dense lookup over the charset range: mappings[c - start] is the reflection of c
+    private final char[] mappings;
+    private final char start;
     private final long seed;
 
     public Reflector(long seed, EnigmaProperties properties) {
+        this(seed, WiringVersion.V1, properties);
+    }
+
+    public Reflector(long seed, WiringVersion wiring, EnigmaProperties properties) {
         this.seed = seed;
-        this.mappings = initializeMappings(properties);
+        this.start = properties.getCharset().getStart();
+        this.mappings = WiringCache.shared().get(WiringCache.Kind.REFLECTOR, seed, wiring,
+            properties.getCharset().getStart(), properties.getCharset().getEnd(),
+            () -> wiring == WiringVersion.V2 ? initializePairing(properties) : initializeMappings(properties));
     }
 
-    private Map<Character, Character> initializeMappings(EnigmaProperties properties) {
-        Map<Character, Character> map = new HashMap<>();
+    private char[] initializePairing(EnigmaProperties properties) {
+        int size = properties.getCharset().getEnd() - properties.getCharset().getStart() + 1;
+        int[] pairs = Permutations.pairing(new SecureRandom(seed), size);
+        char[] table = new char[size];
+        for (int i = 0; i < size; i++) {
+            table[i] = (char) (start + pairs[i]);
+        }
+        return table;
+    }
+
+    private char[] initializeMappings(EnigmaProperties properties) {
         SecureRandom random = new SecureRandom(seed);
         
         // Initialize character set
@@ -28,33 +41,55 @@ public class Reflector {
         }
         
         // Create random reflections (ensuring no character maps to itself)
+        char[] table = new char[chars.length];
         boolean[] used = new boolean[chars.length];
+        int remaining = chars.length;
         for (int i = 0; i < chars.length; i++) {
             if (!used[i]) {
+                if (remaining == 1) {
+                    // Odd-sized charset: the last character has no partner left
+                    table[i] = chars[i];
+                    break;
+                }
                 int j = random.nextInt(chars.length);
                 while (j == i || used[j]) {
                     j = random.nextInt(chars.length);
                 }
-                map.put(chars[i], chars[j]);
-                map.put(chars[j], chars[i]);
+                table[i] = chars[j];
+                table[j] = chars[i];
                 used[i] = used[j] = true;
+                remaining -= 2;
             }
         }
         
-        return map;
+        return table;
     }
 
     public char transform(char c) {
-        return mappings.getOrDefault(c, c);
+        int index = c - start;
+        if (index < 0 || index >= mappings.length) {
+            return c;
+        }
+        return mappings[index];
+    }
+
+    public char[] getMappings() {
+        return mappings.clone();
+    }
+
+    public char getStart() {
+        return start;
     }
 
     public String getMappingTable() {
         StringBuilder table = new StringBuilder("Reflector Mappings:\n");
-        mappings.forEach((k, v) -> {
+        for (int i = 0; i < mappings.length; i++) {
+            char k = (char) (start + i);
+            char v = mappings[i];
             if (k < v) {  // Only show each pair once
                 table.append(String.format("%c <-> %c\n", k, v));
             }
-        });
+        }
         return table.toString();
     }
 }
@@ -4,30 +4,56 @@ import com.enigma.config.EnigmaProperties;
 import com.enigma.config.EnigmaProperties.CharsetConfig;
 import com.enigma.exception.InvalidConfigurationException;
 import com.enigma.util.SecureRandom;
-import org.springframework.stereotype.Component;
 
-import java.util.UUID;
-
-@Component
 public class Rotor {
-    private final String id;
+    private final long seed;
+    private final WiringVersion wiring;
     private final int[] forwardMapping;
     private final int[] reverseMapping;
+    // Mappings repeated twice so that position + offset never needs a modulo
+    private final int[] forwardDoubled;
+    private final int[] reverseDoubled;
     private final int startPosition;
     private final int notchPosition;
     private int currentPosition;
 
     public Rotor(long seed, int startPosition, int notchPosition, EnigmaProperties properties) {
-        this.id = UUID.randomUUID().toString();
+        this(seed, startPosition, notchPosition, WiringVersion.V1, properties);
+    }
+
+    public Rotor(long seed, int startPosition, int notchPosition, WiringVersion wiring,
+                 EnigmaProperties properties) {
+        this.seed = seed;
+        this.wiring = wiring;
         this.startPosition = validatePosition(startPosition, properties);
         this.notchPosition = validatePosition(notchPosition, properties);
         this.currentPosition = startPosition;
         
+        Wiring tables = WiringCache.shared().get(WiringCache.Kind.ROTOR, seed, wiring,
+            CharsetConfig.START, CharsetConfig.END, () -> createWiring(seed, wiring));
+        this.forwardMapping = tables.forward();
+        this.reverseMapping = tables.reverse();
+        this.forwardDoubled = tables.forwardDoubled();
+        this.reverseDoubled = tables.reverseDoubled();
+    }
+
+    private static Wiring createWiring(long seed, WiringVersion wiring) {
         int size = CharsetConfig.END - CharsetConfig.START + 1;
-        this.forwardMapping = new int[size];
-        this.reverseMapping = new int[size];
-        
-        initializeMappings(seed, size);
+        int[] forward = wiring == WiringVersion.V2
+            ? Permutations.shuffle(new SecureRandom(seed), size)
+            : initializeMappings(seed, size);
+        int[] reverse = new int[size];
+        for (int i = 0; i < size; i++) {
+            reverse[forward[i]] = i;
+        }
+        return new Wiring(forward, reverse, doubled(forward), doubled(reverse));
+    }
+
+    private static int[] doubled(int[] mapping) {
+        int[] doubled = new int[mapping.length * 2];
+        System.arraycopy(mapping, 0, doubled, 0, mapping.length);
+        System.arraycopy(mapping, 0, doubled, mapping.length, mapping.length);
+        return doubled;
     }
 
     private int validatePosition(int position, EnigmaProperties properties) {
@@ -39,8 +65,9 @@ public class Rotor {
         return position;
     }
 
-    private void initializeMappings(long seed, int size) {
+    private static int[] initializeMappings(long seed, int size) {
         SecureRandom random = new SecureRandom(seed);
+        int[] forwardMapping = new int[size];
         boolean[] used = new boolean[size];
         
         // Create random permutation
@@ -50,9 +77,9 @@ public class Rotor {
                 j = random.nextInt(size);
             }
             forwardMapping[i] = j;
-            reverseMapping[j] = i;
             used[j] = true;
         }
+        return forwardMapping;
     }
 
     public char transform(char c) {
@@ -61,9 +88,10 @@ public class Rotor {
         }
         
         int pos = c - EnigmaProperties.CharsetConfig.START;
-        int shifted = (pos + currentPosition) % forwardMapping.length;
-        int mapped = forwardMapping[shifted];
-        int unshifted = (mapped - currentPosition + forwardMapping.length) % forwardMapping.length;
+        int unshifted = forwardDoubled[pos + currentPosition] - currentPosition;
+        if (unshifted < 0) {
+            unshifted += forwardMapping.length;
+        }
         
         return (char) (EnigmaProperties.CharsetConfig.START + unshifted);
     }
@@ -74,15 +102,16 @@ public class Rotor {
         }
         
         int pos = c - EnigmaProperties.CharsetConfig.START;
-        int shifted = (pos + currentPosition) % reverseMapping.length;
-        int mapped = reverseMapping[shifted];
-        int unshifted = (mapped - currentPosition + reverseMapping.length) % reverseMapping.length;
+        int unshifted = reverseDoubled[pos + currentPosition] - currentPosition;
+        if (unshifted < 0) {
+            unshifted += reverseMapping.length;
+        }
         
         return (char) (EnigmaProperties.CharsetConfig.START + unshifted);
     }
 
     public void rotate() {
-        currentPosition = (currentPosition + 1) % forwardMapping.length;
+        currentPosition = currentPosition + 1 == forwardMapping.length ? 0 : currentPosition + 1;
     }
 
     public void reset() {
@@ -93,11 +122,31 @@ public class Rotor {
         return currentPosition == notchPosition;
     }
 
+    public int[] getForwardMapping() {
+        return forwardMapping.clone();
+    }
+
+    public int[] getReverseMapping() {
+        return reverseMapping.clone();
+    }
+
+    public int getStartPosition() {
+        return startPosition;
+    }
+
+    public int getNotchPosition() {
+        return notchPosition;
+    }
+
+    // Derived from what defines the rotor, so equal rotors share an id across runs
     public String getId() {
-        return id;
+        return "rotor-" + wiring + "-" + Long.toHexString(seed) + "-" + startPosition + "-" + notchPosition;
     }
 
     public int getPosition() {
         return currentPosition;
     }
+
+    // Shared through WiringCache; never modified after creation
+    private record Wiring(int[] forward, int[] reverse, int[] forwardDoubled, int[] reverseDoubled) {}
 }
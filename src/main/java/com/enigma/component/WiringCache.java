@@ -0,0 +1,93 @@
+package com.enigma.component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide cache of generated component wiring, keyed by component kind, seed, wiring
+ * version and charset range. Cached tables are shared between component instances, which
+ * never mutate them. When full, an arbitrary entry is evicted to make room.
+ */
+public final class WiringCache {
+    public static final int DEFAULT_MAX_SIZE = 4096;
+
+    private static final WiringCache SHARED = new WiringCache(DEFAULT_MAX_SIZE);
+
+    private final Map<Key, Object> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile int maxSize;
+
+    public enum Kind {
+        ROTOR, PLUGBOARD, REFLECTOR
+    }
+
+    WiringCache(int maxSize) {
+        setMaxSize(maxSize);
+    }
+
+    public static WiringCache shared() {
+        return SHARED;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T get(Kind kind, long seed, WiringVersion version, char start, char end, Supplier<T> generator) {
+        Key key = new Key(kind, seed, version, start, end);
+        Object wiring = entries.get(key);
+        if (wiring != null) {
+            hits.increment();
+            return (T) wiring;
+        }
+
+        misses.increment();
+        T generated = generator.get();
+        if (maxSize == 0) {
+            return generated;
+        }
+        while (entries.size() >= maxSize) {
+            Iterator<Key> keys = entries.keySet().iterator();
+            if (!keys.hasNext()) {
+                break;
+            }
+            if (entries.remove(keys.next()) != null) {
+                evictions.increment();
+            }
+        }
+        Object existing = entries.putIfAbsent(key, generated);
+        return existing != null ? (T) existing : generated;
+    }
+
+    /** Sets the entry limit; {@code 0} disables caching. Existing entries are kept until evicted. */
+    public void setMaxSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative");
+        }
+        this.maxSize = maxSize;
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private record Key(Kind kind, long seed, WiringVersion version, char start, char end) {}
+}
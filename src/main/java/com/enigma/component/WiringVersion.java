@@ -0,0 +1,12 @@
+package com.enigma.component;
+
+/**
+ * Algorithm used to derive component wiring from a seed. Versions produce different wiring
+ * for the same seed, so a configuration keeps the version it was created with.
+ */
+public enum WiringVersion {
+    /** Original rejection sampling; kept so existing configurations still decrypt. */
+    V1,
+    /** Fisher–Yates shuffle: exactly one draw per position. */
+    V2
+}
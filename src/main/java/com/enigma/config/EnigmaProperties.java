@@ -4,12 +4,22 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 @ConfigurationProperties(prefix = "enigma")
 @Data
 public class EnigmaProperties {
     private CharsetConfig charset = new CharsetConfig();
     private RotorConfig rotors = new RotorConfig();
+    private CacheConfig cache = new CacheConfig();
+    private EngineConfig engine = new EngineConfig();
+    private ParallelConfig parallel = new ParallelConfig();
+    private StreamingConfig streaming = new StreamingConfig();
+    private FileConfig file = new FileConfig();
+    private WarmupConfig warmup = new WarmupConfig();
+    private BulkImportConfig bulkImport = new BulkImportConfig();
 
     @Data
     public static class CharsetConfig {
@@ -25,4 +35,52 @@ public class EnigmaProperties {
         private int maxRotors = 12;
         private long defaultSeed = 42L;
     }
+
+    @Data
+    public static class CacheConfig {
+        private int maxSize = 256;
+        private int wiringMaxSize = 4096;
+        // Keep every compiled machine in off-heap memory behind the on-heap LRU
+        private boolean offHeap = false;
+        private int offHeapSlabBytes = 16 << 20;
+        private long offHeapMaxBytes = 1L << 30;
+    }
+
+    @Data
+    public static class EngineConfig {
+        private boolean compositeTables = false;
+        private int compositeCacheStates = 16;
+        private boolean vector = false;
+    }
+
+    @Data
+    public static class ParallelConfig {
+        private int threshold = 1 << 20;   // Messages shorter than this stay single-threaded
+        private int chunkSize = 1 << 16;
+    }
+
+    @Data
+    public static class StreamingConfig {
+        private int bufferSize = 8192;
+    }
+
+    @Data
+    public static class FileConfig {
+        private int regionSize = 64 << 20;  // Bytes mapped and processed per parallel task
+    }
+
+    @Data
+    public static class WarmupConfig {
+        private boolean enabled = false;
+        // Preloaded in addition to the most recently created configurations
+        private List<Long> configIds = new ArrayList<>();
+        private int latestConfigs = 16;
+        private int characters = 1 << 20;
+    }
+
+    @Data
+    public static class BulkImportConfig {
+        private int chunkSize = 1000;  // Rows persisted per transaction
+        private int maxReportedErrors = 100;
+    }
 }
@@ -2,6 +2,8 @@ package com.enigma.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
@@ -15,10 +17,15 @@ public class SecurityConfig {
         http
             .csrf(csrf -> csrf.disable())  // For API endpoints
             .authorizeHttpRequests(auth -> auth
+                .requestMatchers(HttpMethod.GET, "/api/v1/enigma/config/**").permitAll()
+                .requestMatchers("/api/v1/enigma/config/**").authenticated()  // Create, update, delete, import
                 .requestMatchers("/api/v1/enigma/**").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
+                .requestMatchers("/actuator/health/**").permitAll()  // Liveness/readiness probes
+                .requestMatchers("/actuator/prometheus").permitAll()  // Scraped without credentials
                 .anyRequest().authenticated()
             )
+            .httpBasic(Customizer.withDefaults())
             .headers(headers -> headers.frameOptions().disable());  // For H2 Console
 
         return http.build();
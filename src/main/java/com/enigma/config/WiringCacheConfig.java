@@ -0,0 +1,20 @@
+package com.enigma.config;
+
+import com.enigma.component.WiringCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Sizes the process-wide {@link WiringCache} from {@code enigma.cache.wiring-max-size}. Components
+ * reach the cache statically, so it is configured here once rather than by the beans using it.
+ */
+@Configuration
+public class WiringCacheConfig {
+
+    @Bean
+    public WiringCache wiringCache(EnigmaProperties properties) {
+        WiringCache cache = WiringCache.shared();
+        cache.setMaxSize(properties.getCache().getWiringMaxSize());
+        return cache;
+    }
+}
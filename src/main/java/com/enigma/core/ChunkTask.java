@@ -0,0 +1,36 @@
+package com.enigma.core;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join task that splits a buffer into chunks and processes each one from its own
+ * offset-derived rotor state, so chunks are independent of each other.
+ */
+class ChunkTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final CompiledMachine machine;
+    private final char[] buffer;
+    private final int from;
+    private final int to;
+    private final int chunkSize;
+
+    ChunkTask(CompiledMachine machine, char[] buffer, int from, int to, int chunkSize) {
+        this.machine = machine;
+        this.buffer = buffer;
+        this.from = from;
+        this.to = to;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= chunkSize) {
+            machine.process(buffer, from, to - from, machine.stateAt(from));
+            return;
+        }
+        int mid = from + (to - from) / 2;
+        invokeAll(new ChunkTask(machine, buffer, from, mid, chunkSize),
+                  new ChunkTask(machine, buffer, mid, to, chunkSize));
+    }
+}
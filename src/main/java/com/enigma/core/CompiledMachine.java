@@ -0,0 +1,635 @@
+package com.enigma.core;
+
+import com.enigma.component.Plugboard;
+import com.enigma.component.Reflector;
+import com.enigma.component.Rotor;
+import com.enigma.config.EnigmaProperties.CharsetConfig;
+import com.enigma.exception.InvalidConfigurationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+
+/**
+ * Immutable wiring of an Enigma machine: plugboard, reflector and rotor permutation
+ * tables plus rotor start/notch positions, indexed from {@link CharsetConfig#START}.
+ * Safe to share between threads; rotor positions live in a per-call {@link RotorState}.
+ */
+public final class CompiledMachine {
+    private static final char START = CharsetConfig.START;
+    private static final char END = CharsetConfig.END;
+    private static final int SIZE = END - START + 1;
+
+    // Binary form, see writeTo(ByteBuffer)
+    private static final int FORMAT_MAGIC = 0x454E4D43;  // "ENMC"
+    private static final byte FORMAT_VERSION = 1;
+    private static final int FORMAT_HEADER_BYTES = 8;
+    private static final int FORMAT_CHECKSUM_BYTES = 4;
+
+    private final int[] plugboard;
+    private final int[] reflector;
+    private final int[][] forwardMappings;
+    private final int[][] reverseMappings;
+    private final int[] startPositions;
+    private final int[] notchPositions;
+    private final CompositeTables compositeTables;
+    private final VectorKernel vectorKernel;
+    private final OffHeapWiring offHeap;
+
+    private CompiledMachine(int[] plugboard, int[] reflector, int[][] forwardMappings,
+                            int[][] reverseMappings, int[] startPositions, int[] notchPositions,
+                            CompositeTables compositeTables, boolean vectorized) {
+        this.plugboard = plugboard;
+        this.reflector = reflector;
+        this.forwardMappings = forwardMappings;
+        this.reverseMappings = reverseMappings;
+        this.startPositions = startPositions;
+        this.notchPositions = notchPositions;
+        this.compositeTables = compositeTables;
+        this.vectorKernel = vectorized
+            ? VectorSupport.newKernel(this, START, SIZE, plugboard, reflector, forwardMappings, reverseMappings, notchPositions)
+            : null;
+        this.offHeap = null;
+    }
+
+    // Tables stay in the buffer; only the positions, needed on every step, are copied out
+    private CompiledMachine(OffHeapWiring offHeap) {
+        int rotors = offHeap.rotorCount();
+        this.plugboard = null;
+        this.reflector = null;
+        this.forwardMappings = null;
+        this.reverseMappings = null;
+        this.startPositions = new int[rotors];
+        this.notchPositions = new int[rotors];
+        for (int r = 0; r < rotors; r++) {
+            startPositions[r] = offHeap.startPosition(r);
+            notchPositions[r] = offHeap.notchPosition(r);
+        }
+        this.compositeTables = null;
+        this.vectorKernel = null;
+        this.offHeap = offHeap;
+    }
+
+    public static CompiledMachine compile(EnigmaConfiguration config) {
+        Plugboard plugboard = new Plugboard(config.getPlugboardSeed(), config.getWiringVersion(), config.getProperties());
+        Reflector reflector = new Reflector(config.getReflectorSeed(), config.getWiringVersion(), config.getProperties());
+        List<Rotor> rotors = config.getRotors();
+
+        int[] plugboardTable = new int[SIZE];
+        int[] reflectorTable = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            plugboardTable[i] = plugboard.transform((char) (START + i)) - START;
+            reflectorTable[i] = reflector.transform((char) (START + i)) - START;
+        }
+
+        int[][] forward = new int[rotors.size()][];
+        int[][] reverse = new int[rotors.size()][];
+        int[] start = new int[rotors.size()];
+        int[] notch = new int[rotors.size()];
+        for (int r = 0; r < rotors.size(); r++) {
+            Rotor rotor = rotors.get(r);
+            forward[r] = doubled(rotor.getForwardMapping());
+            reverse[r] = doubled(rotor.getReverseMapping());
+            start[r] = rotor.getStartPosition();
+            notch[r] = rotor.getNotchPosition();
+        }
+
+        return new CompiledMachine(plugboardTable, reflectorTable, forward, reverse, start, notch, null, false);
+    }
+
+    // Rotor tables hold the permutation twice so shift() can index with pos + offset directly
+    private static int[] doubled(int[] mapping) {
+        int[] doubled = new int[SIZE * 2];
+        System.arraycopy(mapping, 0, doubled, 0, SIZE);
+        System.arraycopy(mapping, 0, doubled, SIZE, SIZE);
+        return doubled;
+    }
+
+    /**
+     * Number of bytes {@link #writeTo(ByteBuffer)} produces for this machine.
+     */
+    public int serializedSize() {
+        return FORMAT_HEADER_BYTES + 2 * SIZE + startPositions.length * (SIZE + 2) + FORMAT_CHECKSUM_BYTES;
+    }
+
+    /**
+     * Writes the wiring in a compact, versioned binary form at the buffer's position:
+     * an 8-byte header (magic, format version, charset start, charset size, rotor count),
+     * the plugboard and reflector tables, then per rotor its start and notch positions and
+     * forward table, one byte per entry, followed by a CRC32 of everything before it.
+     * Reverse rotor tables are the inverse permutations and are rebuilt on load.
+     */
+    public void writeTo(ByteBuffer buffer) {
+        if (offHeap != null) {
+            onHeap().writeTo(buffer);
+            return;
+        }
+        int from = buffer.position();
+        buffer.putInt(FORMAT_MAGIC)
+            .put(FORMAT_VERSION)
+            .put((byte) START)
+            .put((byte) SIZE)
+            .put((byte) startPositions.length);
+        putTable(buffer, plugboard);
+        putTable(buffer, reflector);
+        for (int r = 0; r < startPositions.length; r++) {
+            buffer.put((byte) startPositions[r]).put((byte) notchPositions[r]);
+            putTable(buffer, forwardMappings[r]);  // First half of the doubled table
+        }
+        buffer.putInt(checksum(buffer, from, buffer.position() - from));
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(serializedSize());
+        writeTo(buffer);
+        return buffer.array();
+    }
+
+    /**
+     * Reads a machine written by {@link #writeTo(ByteBuffer)} from the buffer's position,
+     * leaving the position after it. The tables are read straight from the buffer (heap or
+     * direct); no wiring is regenerated from seeds.
+     *
+     * @throws InvalidConfigurationException if the data is truncated, corrupt, of another
+     *         format version or compiled for a different charset
+     */
+    public static CompiledMachine read(ByteBuffer buffer) {
+        int from = buffer.position();
+        try {
+            if (buffer.getInt() != FORMAT_MAGIC) {
+                throw new InvalidConfigurationException("Not a compiled machine");
+            }
+            byte version = buffer.get();
+            if (version != FORMAT_VERSION) {
+                throw new InvalidConfigurationException("Unsupported compiled machine format version " + version);
+            }
+            int start = buffer.get() & 0xFF;
+            int size = buffer.get() & 0xFF;
+            if (start != START || size != SIZE) {
+                throw new InvalidConfigurationException("Compiled machine was built for a different charset");
+            }
+            int rotorCount = buffer.get() & 0xFF;
+
+            int[] plugboard = getTable(buffer);
+            int[] reflector = getTable(buffer);
+            int[][] forward = new int[rotorCount][];
+            int[][] reverse = new int[rotorCount][];
+            int[] startPositions = new int[rotorCount];
+            int[] notchPositions = new int[rotorCount];
+            for (int r = 0; r < rotorCount; r++) {
+                startPositions[r] = position(buffer.get());
+                notchPositions[r] = position(buffer.get());
+                int[] table = getTable(buffer);
+                int[] inverse = new int[SIZE];
+                for (int i = 0; i < SIZE; i++) {
+                    inverse[table[i]] = i;
+                }
+                forward[r] = doubled(table);
+                reverse[r] = doubled(inverse);
+            }
+
+            int expected = checksum(buffer, from, buffer.position() - from);
+            if (buffer.getInt() != expected) {
+                throw new InvalidConfigurationException("Compiled machine checksum mismatch");
+            }
+            return new CompiledMachine(plugboard, reflector, forward, reverse,
+                startPositions, notchPositions, null, false);
+        } catch (BufferUnderflowException e) {
+            throw new InvalidConfigurationException("Compiled machine data is truncated", e);
+        }
+    }
+
+    // Bytes needed to pack a machine with this many rotors off-heap
+    static int offHeapLength(int rotorCount) {
+        return OffHeapWiring.length(rotorCount, SIZE);
+    }
+
+    // Packs the wiring at buffer[base, base + offHeapLength) for offHeap(buffer, base, rotors)
+    void writeOffHeap(ByteBuffer buffer, int base) {
+        if (offHeap != null) {
+            offHeap.copyTo(buffer, base);
+            return;
+        }
+        OffHeapWiring.write(buffer, base, SIZE, plugboard, reflector, forwardMappings, reverseMappings,
+            startPositions, notchPositions);
+    }
+
+    // A machine that reads its tables from the buffer in place
+    static CompiledMachine offHeap(ByteBuffer buffer, int base, int rotorCount) {
+        return new CompiledMachine(new OffHeapWiring(buffer, base, rotorCount, SIZE));
+    }
+
+    public boolean isOffHeap() {
+        return offHeap != null;
+    }
+
+    // Heap copy of an off-heap machine, for the rarely used paths that need whole tables
+    private CompiledMachine onHeap() {
+        int rotors = offHeap.rotorCount();
+        int[] plugboardTable = new int[SIZE];
+        int[] reflectorTable = new int[SIZE];
+        int[][] forward = new int[rotors][];
+        int[][] reverse = new int[rotors][];
+        for (int i = 0; i < SIZE; i++) {
+            plugboardTable[i] = offHeap.plugboard(i);
+            reflectorTable[i] = offHeap.reflector(i);
+        }
+        for (int r = 0; r < rotors; r++) {
+            int[] forwardTable = new int[SIZE];
+            int[] reverseTable = new int[SIZE];
+            for (int i = 0; i < SIZE; i++) {
+                forwardTable[i] = offHeap.forward(r, i);
+                reverseTable[i] = offHeap.reverse(r, i);
+            }
+            forward[r] = doubled(forwardTable);
+            reverse[r] = doubled(reverseTable);
+        }
+        return new CompiledMachine(plugboardTable, reflectorTable, forward, reverse,
+            startPositions.clone(), notchPositions.clone(), null, false);
+    }
+
+    private static void putTable(ByteBuffer buffer, int[] table) {
+        for (int i = 0; i < SIZE; i++) {
+            buffer.put((byte) table[i]);
+        }
+    }
+
+    // Rejects anything that is not a permutation, so corrupt data cannot index out of range
+    private static int[] getTable(ByteBuffer buffer) {
+        byte[] bytes = new byte[SIZE];
+        buffer.get(bytes);
+        int[] table = new int[SIZE];
+        boolean[] seen = new boolean[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            int value = position(bytes[i]);
+            if (seen[value]) {
+                throw new InvalidConfigurationException("Compiled machine table is not a permutation");
+            }
+            seen[value] = true;
+            table[i] = value;
+        }
+        return table;
+    }
+
+    private static int position(byte b) {
+        int value = b & 0xFF;
+        if (value >= SIZE) {
+            throw new InvalidConfigurationException(
+                String.format("Compiled machine entry %d is out of range 0-%d", value, SIZE - 1));
+        }
+        return value;
+    }
+
+    private static int checksum(ByteBuffer buffer, int from, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(from, length));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Returns a machine with the same wiring that substitutes through precomputed composite
+     * tables, caching up to {@code maxStates} slow-rotor states (about 9 KB each).
+     * Off-heap machines are returned unchanged; they always run the direct path.
+     */
+    public CompiledMachine withCompositeTables(int maxStates) {
+        if (offHeap != null) {
+            return this;
+        }
+        CompositeTables tables = new CompositeTables(SIZE, plugboard, reflector,
+            forwardMappings, reverseMappings, maxStates);
+        return new CompiledMachine(plugboard, reflector, forwardMappings, reverseMappings,
+            startPositions, notchPositions, tables, vectorKernel != null);
+    }
+
+    /**
+     * Returns a machine with the same wiring that runs the direct path through the Vector API
+     * (built with {@code -P vector}, run with {@code --add-modules jdk.incubator.vector}). Falls
+     * back to this scalar machine when either is missing, and for off-heap machines. Composite
+     * tables, when enabled, take precedence.
+     */
+    public CompiledMachine withVectorKernel() {
+        if (!VectorSupport.isAvailable() || offHeap != null) {
+            return this;
+        }
+        return new CompiledMachine(plugboard, reflector, forwardMappings, reverseMappings,
+            startPositions, notchPositions, compositeTables, true);
+    }
+
+    public boolean usesCompositeTables() {
+        return compositeTables != null;
+    }
+
+    public boolean usesVectorKernel() {
+        return vectorKernel != null;
+    }
+
+    public RotorState newState() {
+        return new RotorState(startPositions.clone());
+    }
+
+    /**
+     * Computes the rotor state after {@code offset} characters without stepping through them.
+     * Each rotor moves once per notch passage of the rotor before it, which is counted
+     * directly, so the cost is O(rotors) regardless of the offset.
+     */
+    public RotorState stateAt(long offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative");
+        }
+        int[] positions = new int[startPositions.length];
+        long steps = offset;
+        for (int r = 0; r < startPositions.length; r++) {
+            positions[r] = (int) ((startPositions[r] + steps) % SIZE);
+            // First step that lands this rotor on its notch, then one every full revolution
+            long firstCarry = Math.floorMod(notchPositions[r] - startPositions[r] - 1, SIZE) + 1;
+            steps = steps >= firstCarry ? (steps - firstCarry) / SIZE + 1 : 0;
+        }
+        return new RotorState(positions);
+    }
+
+    /**
+     * Processes a slice of a larger message whose first character sits at
+     * {@code messageOffset}, e.g. to decrypt part of a ciphertext without the rest.
+     */
+    public String process(String slice, long messageOffset) {
+        char[] chars = slice.toCharArray();
+        process(chars, 0, chars.length, stateAt(messageOffset));
+        return new String(chars);
+    }
+
+    /**
+     * Processes a whole message on {@code pool}, splitting it into chunks of at most
+     * {@code chunkSize} characters that each start from {@link #stateAt(long)}.
+     */
+    public String processParallel(String message, int chunkSize, ForkJoinPool pool) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        char[] chars = message.toCharArray();
+        pool.invoke(new ChunkTask(this, chars, 0, chars.length, chunkSize));
+        return new String(chars);
+    }
+
+    /**
+     * Streams UTF-8 bytes from {@code in} through the machine into {@code out} using a single
+     * buffer of {@code bufferSize} bytes; rotor state carries across buffer boundaries.
+     * Returns the number of bytes processed.
+     */
+    public long process(InputStream in, OutputStream out, int bufferSize) throws IOException {
+        byte[] buffer = new byte[bufferSize];
+        RotorState state = newState();
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            process(buffer, 0, read, state);
+            out.write(buffer, 0, read);
+            total += read;
+        }
+        out.flush();
+        return total;
+    }
+
+    /**
+     * Transforms UTF-8 (or plain ASCII) bytes in place. Printable ASCII bytes are substituted
+     * and every other byte passes through. Rotors step once per UTF-16 code unit the bytes
+     * decode to, so the output matches the char path for the same text.
+     */
+    public void process(byte[] buffer, int offset, int length, RotorState state) {
+        int[] positions = state.positions;
+        byte[] table = null;
+        boolean tableValid = compositeTables == null;
+        for (int i = offset; i < offset + length; i++) {
+            int b = buffer[i] & 0xFF;
+            if (b >= START && b <= END) {
+                if (!tableValid) {
+                    table = compositeTables.tableFor(positions);
+                    tableValid = true;
+                }
+                buffer[i] = substitute(b, positions, table);
+            }
+            if (advanceRotors(positions, codeUnits(b)) && compositeTables != null) {
+                tableValid = false;
+            }
+        }
+    }
+
+    /**
+     * Transforms the remaining bytes of {@code buffer} in place and moves its position to
+     * the limit. Works on heap and direct buffers without copying.
+     */
+    public void process(ByteBuffer buffer, RotorState state) {
+        int from = buffer.position();
+        int to = buffer.limit();
+        if (buffer.hasArray()) {
+            process(buffer.array(), buffer.arrayOffset() + from, to - from, state);
+        } else {
+            processRegion(buffer, from, to, state.positions);
+        }
+        buffer.position(to);
+    }
+
+    /**
+     * Writes the transformed remaining bytes of {@code src} into the caller-supplied
+     * {@code dst}, advancing both buffers' positions.
+     */
+    public void process(ByteBuffer src, ByteBuffer dst, RotorState state) {
+        int from = dst.position();
+        dst.put(src);
+        ByteBuffer written = dst.duplicate().position(from).limit(dst.position());
+        process(written, state);
+    }
+
+    private void processRegion(ByteBuffer buffer, int from, int to, int[] positions) {
+        byte[] table = null;
+        boolean tableValid = compositeTables == null;
+        for (int i = from; i < to; i++) {
+            int b = buffer.get(i) & 0xFF;
+            if (b >= START && b <= END) {
+                if (!tableValid) {
+                    table = compositeTables.tableFor(positions);
+                    tableValid = true;
+                }
+                buffer.put(i, substitute(b, positions, table));
+            }
+            if (advanceRotors(positions, codeUnits(b)) && compositeTables != null) {
+                tableValid = false;
+            }
+        }
+    }
+
+    private byte substitute(int b, int[] positions, byte[] table) {
+        if (table != null) {
+            return (byte) (START + table[positions[0] * SIZE + (b - START)]);
+        }
+        return (byte) processChar((char) b, positions);
+    }
+
+    // UTF-16 code units contributed by a UTF-8 byte: continuation bytes add none and the
+    // lead byte of a four-byte sequence adds a surrogate pair
+    static int codeUnits(int b) {
+        if ((b & 0xC0) == 0x80) {
+            return 0;
+        }
+        return (b & 0xF8) == 0xF0 ? 2 : 1;
+    }
+
+    public void reset(RotorState state) {
+        System.arraycopy(startPositions, 0, state.positions, 0, startPositions.length);
+    }
+
+    public String process(String message) {
+        char[] chars = message.toCharArray();
+        process(chars, 0, chars.length, newState());
+        return new String(chars);
+    }
+
+    public String process(String message, RotorState state) {
+        char[] chars = message.toCharArray();
+        process(chars, 0, chars.length, state);
+        return new String(chars);
+    }
+
+    /**
+     * Transforms {@code length} characters of {@code buffer} in place starting at
+     * {@code offset}, continuing from and advancing {@code state}.
+     */
+    public void process(char[] buffer, int offset, int length, RotorState state) {
+        if (compositeTables != null) {
+            processComposite(buffer, offset, length, state.positions);
+            return;
+        }
+        if (vectorKernel != null) {
+            vectorKernel.process(buffer, offset, length, state.positions);
+            return;
+        }
+        int[] positions = state.positions;
+        for (int i = offset; i < offset + length; i++) {
+            buffer[i] = processChar(buffer[i], positions);
+            advanceRotors(positions);
+        }
+    }
+
+    private void processComposite(char[] buffer, int offset, int length, int[] positions) {
+        byte[] table = null;
+        boolean tableValid = false;
+        for (int i = offset; i < offset + length; i++) {
+            char c = buffer[i];
+            if (c >= START && c <= END) {
+                if (!tableValid) {
+                    table = compositeTables.tableFor(positions);
+                    tableValid = true;
+                }
+                buffer[i] = table != null
+                    ? (char) (START + table[positions[0] * SIZE + (c - START)])
+                    : processChar(c, positions);
+            }
+            // The slow rotors only move when the fast rotor reaches its notch
+            if (advanceRotors(positions)) {
+                tableValid = false;
+            }
+        }
+    }
+
+    /**
+     * Processes {@code message} while recording every stage of the signal path. This is a
+     * separate, allocation-heavy code path meant for diagnostics on short messages.
+     */
+    public List<SignalTrace> trace(String message) {
+        if (offHeap != null) {
+            return onHeap().trace(message);
+        }
+        int[] positions = startPositions.clone();
+        List<SignalTrace> traces = new ArrayList<>(message.length());
+
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            List<SignalTrace.Step> path = new ArrayList<>();
+            char output = c;
+            if (c >= START && c <= END) {
+                int current = plugboard[c - START];
+                path.add(step("plugboard", current));
+                for (int r = 0; r < forwardMappings.length; r++) {
+                    current = shift(forwardMappings[r], current, positions[r]);
+                    path.add(step("rotor " + r, current));
+                }
+                current = reflector[current];
+                path.add(step("reflector", current));
+                for (int r = reverseMappings.length - 1; r >= 0; r--) {
+                    current = shift(reverseMappings[r], current, positions[r]);
+                    path.add(step("rotor " + r + " (reverse)", current));
+                }
+                current = plugboard[current];
+                path.add(step("plugboard (reverse)", current));
+                output = (char) (START + current);
+            }
+            traces.add(new SignalTrace(i, c, output, positions.clone(), path));
+            advanceRotors(positions);
+        }
+
+        return traces;
+    }
+
+    private static SignalTrace.Step step(String stage, int index) {
+        return new SignalTrace.Step(stage, (char) (START + index));
+    }
+
+    char processChar(char c, int[] positions) {
+        if (c < START || c > END) {
+            return c;
+        }
+        if (offHeap != null) {
+            return (char) (START + offHeap.substitute(c - START, positions));
+        }
+
+        // Forward path
+        int current = plugboard[c - START];
+        for (int r = 0; r < forwardMappings.length; r++) {
+            current = shift(forwardMappings[r], current, positions[r]);
+        }
+
+        // Reflector
+        current = reflector[current];
+
+        // Backward path
+        for (int r = reverseMappings.length - 1; r >= 0; r--) {
+            current = shift(reverseMappings[r], current, positions[r]);
+        }
+
+        // Final plugboard
+        return (char) (START + plugboard[current]);
+    }
+
+    private static int shift(int[] mapping, int pos, int offset) {
+        int unshifted = mapping[pos + offset] - offset;
+        return unshifted < 0 ? unshifted + SIZE : unshifted;
+    }
+
+    private boolean advanceRotors(int[] positions, int steps) {
+        boolean slowMoved = false;
+        for (int i = 0; i < steps; i++) {
+            slowMoved |= advanceRotors(positions);
+        }
+        return slowMoved;
+    }
+
+    // Returns true when any rotor other than the fast one moved
+    boolean advanceRotors(int[] positions) {
+        for (int r = 0; r < positions.length; r++) {
+            positions[r] = positions[r] + 1 == SIZE ? 0 : positions[r] + 1;
+            if (positions[r] != notchPositions[r]) {
+                return r > 0;
+            }
+        }
+        return true;
+    }
+
+    public int getRotorCount() {
+        return startPositions.length;
+    }
+}
@@ -0,0 +1,100 @@
+package com.enigma.core;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-stepping-state composite substitution tables for a {@link CompiledMachine}.
+ *
+ * <p>While only the fast rotor moves, the slow rotors and reflector form one fixed inner
+ * permutation. For each slow-rotor state a table of {@code SIZE x SIZE} entries holds the
+ * complete plugboard-rotors-reflector-rotors-plugboard substitution for every fast rotor
+ * position, so a character costs one array load. Tables are built lazily and at most
+ * {@code maxStates} are kept; states beyond that fall back to the direct signal path.
+ */
+final class CompositeTables {
+    private final int size;
+    private final int[] plugboard;
+    private final int[] reflector;
+    private final int[][] forwardMappings;
+    private final int[][] reverseMappings;
+    private final int maxStates;
+    private final Map<SlowState, byte[]> tables = new ConcurrentHashMap<>();
+
+    CompositeTables(int size, int[] plugboard, int[] reflector, int[][] forwardMappings,
+                    int[][] reverseMappings, int maxStates) {
+        this.size = size;
+        this.plugboard = plugboard;
+        this.reflector = reflector;
+        this.forwardMappings = forwardMappings;
+        this.reverseMappings = reverseMappings;
+        this.maxStates = maxStates;
+    }
+
+    /**
+     * Returns the table for the slow rotors in {@code positions}, indexed by
+     * {@code fastPosition * size + input}, or {@code null} when the cache is full.
+     */
+    byte[] tableFor(int[] positions) {
+        SlowState key = new SlowState(Arrays.copyOfRange(positions, 1, positions.length));
+        byte[] table = tables.get(key);
+        if (table != null) {
+            return table;
+        }
+        if (tables.size() >= maxStates) {
+            return null;
+        }
+        table = build(positions);
+        byte[] existing = tables.putIfAbsent(key, table);
+        return existing != null ? existing : table;
+    }
+
+    int cachedStates() {
+        return tables.size();
+    }
+
+    private byte[] build(int[] positions) {
+        // Slow rotors and reflector collapse to one permutation for this state
+        int[] inner = new int[size];
+        for (int x = 0; x < size; x++) {
+            int current = x;
+            for (int r = 1; r < forwardMappings.length; r++) {
+                current = shift(forwardMappings[r], current, positions[r]);
+            }
+            current = reflector[current];
+            for (int r = reverseMappings.length - 1; r >= 1; r--) {
+                current = shift(reverseMappings[r], current, positions[r]);
+            }
+            inner[x] = current;
+        }
+
+        byte[] table = new byte[size * size];
+        for (int fast = 0; fast < size; fast++) {
+            int row = fast * size;
+            for (int x = 0; x < size; x++) {
+                int current = shift(forwardMappings[0], plugboard[x], fast);
+                current = shift(reverseMappings[0], inner[current], fast);
+                table[row + x] = (byte) plugboard[current];
+            }
+        }
+        return table;
+    }
+
+    private int shift(int[] mapping, int pos, int offset) {
+        int unshifted = mapping[pos + offset] - offset;
+        return unshifted < 0 ? unshifted + size : unshifted;
+    }
+
+    private record SlowState(int[] positions) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof SlowState other && Arrays.equals(positions, other.positions);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(positions);
+        }
+    }
+}
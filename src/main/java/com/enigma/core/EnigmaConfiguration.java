@@ -1,36 +1,37 @@
 package com.enigma.core;
 
 import com.enigma.component.Rotor;
+import com.enigma.component.WiringVersion;
 import com.enigma.config.EnigmaProperties;
 import com.enigma.exception.InvalidConfigurationException;
 import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.boot.context.properties.ConfigurationProperties;
-import org.springframework.context.annotation.Configuration;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
-@Configuration
-@ConfigurationProperties(prefix = "enigma.machine")
 @Getter
 public class EnigmaConfiguration {
     private static final Logger logger = LoggerFactory.getLogger(EnigmaConfiguration.class);
 
     private final long plugboardSeed;
     private final long reflectorSeed;
+    private final WiringVersion wiringVersion;
     private final List<Rotor> rotors;
     private final EnigmaProperties properties;
 
     private EnigmaConfiguration(Builder builder) {
         this.plugboardSeed = builder.plugboardSeed;
         this.reflectorSeed = builder.reflectorSeed;
-        this.rotors = Collections.unmodifiableList(new ArrayList<>(builder.rotors));
+        this.wiringVersion = builder.wiringVersion;
+        this.rotors = builder.rotors.stream()
+            .map(spec -> new Rotor(spec.seed(), spec.startPosition(), spec.notchPosition(),
+                wiringVersion, builder.properties))
+            .toList();
         this.properties = builder.properties;
         validateConfiguration();
-        logger.info("Created Enigma configuration with {} rotors", rotors.size());
+        logger.debug("Created Enigma configuration with {} rotors", rotors.size());
     }
 
     private void validateConfiguration() {
@@ -50,7 +51,8 @@ public class EnigmaConfiguration {
     public static class Builder {
         private long plugboardSeed = 42L;
         private long reflectorSeed = 42L;
-        private final List<Rotor> rotors = new ArrayList<>();
+        private WiringVersion wiringVersion = WiringVersion.V1;
+        private final List<RotorSpec> rotors = new ArrayList<>();
         private final EnigmaProperties properties;
 
         public Builder(EnigmaProperties properties) {
@@ -67,8 +69,14 @@ public class EnigmaConfiguration {
             return this;
         }
 
+        // Applies to every component, including rotors added before this call
+        public Builder wiringVersion(WiringVersion wiringVersion) {
+            this.wiringVersion = wiringVersion;
+            return this;
+        }
+
         public Builder addRotor(long seed, int startPosition, int notchPosition) {
-            rotors.add(new Rotor(seed, startPosition, notchPosition, properties));
+            rotors.add(new RotorSpec(seed, startPosition, notchPosition));
             return this;
         }
 
@@ -79,5 +87,8 @@ public class EnigmaConfiguration {
         public EnigmaConfiguration build() {
             return new EnigmaConfiguration(this);
         }
+
+        // Rotors are created in build() so they all share the final wiring version
+        private record RotorSpec(long seed, int startPosition, int notchPosition) {}
     }
 }
@@ -0,0 +1,11 @@
+package com.enigma.core;
+
+public record FileProcessingResult(long bytes, long elapsedNanos) {
+
+    public double megabytesPerSecond() {
+        if (elapsedNanos == 0) {
+            return 0;
+        }
+        return (bytes / (1024.0 * 1024.0)) / (elapsedNanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,120 @@
+package com.enigma.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Encrypts a file into another through memory-mapped regions processed in parallel.
+ *
+ * <p>A first pass counts the UTF-16 code units in each region so that every region can
+ * start from {@link CompiledMachine#stateAt(long)} at its character offset; the second
+ * pass maps input and output regions and transforms them independently.
+ */
+public final class MappedFileProcessor {
+    private final CompiledMachine machine;
+    private final int regionSize;
+    private final ForkJoinPool pool;
+
+    public MappedFileProcessor(CompiledMachine machine, int regionSize, ForkJoinPool pool) {
+        if (regionSize <= 0) {
+            throw new IllegalArgumentException("regionSize must be positive");
+        }
+        this.machine = machine;
+        this.regionSize = regionSize;
+        this.pool = pool;
+    }
+
+    public FileProcessingResult process(Path input, Path output) throws IOException {
+        // Opening the output truncates it, which would wipe the input before it is read
+        if (Files.exists(output) && Files.isSameFile(input, output)) {
+            throw new IllegalArgumentException("Input and output must be different files");
+        }
+        long started = System.nanoTime();
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+                 StandardOpenOption.READ, StandardOpenOption.WRITE,
+                 StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            int regions = (int) ((size + regionSize - 1) / regionSize);
+
+            long[] charOffsets = new long[regions];
+            long[] codeUnits = invokeAll(regions, region -> countCodeUnits(in, region, size));
+            for (int region = 1; region < regions; region++) {
+                charOffsets[region] = charOffsets[region - 1] + codeUnits[region - 1];
+            }
+
+            // Size the output once up front so concurrent map() calls never resize the file
+            if (size > 0) {
+                out.write(ByteBuffer.wrap(new byte[1]), size - 1);
+            }
+
+            invokeAll(regions, region -> {
+                long position = (long) region * regionSize;
+                long length = Math.min(regionSize, size - position);
+                MappedByteBuffer src = in.map(FileChannel.MapMode.READ_ONLY, position, length);
+                MappedByteBuffer dst = out.map(FileChannel.MapMode.READ_WRITE, position, length);
+                machine.process(src, dst, machine.stateAt(charOffsets[region]));
+                dst.force();
+                return length;
+            });
+
+            return new FileProcessingResult(size, System.nanoTime() - started);
+        }
+    }
+
+    private long countCodeUnits(FileChannel in, int region, long size) throws IOException {
+        long position = (long) region * regionSize;
+        long length = Math.min(regionSize, size - position);
+        MappedByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, position, length);
+        long units = 0;
+        for (int i = 0; i < length; i++) {
+            units += CompiledMachine.codeUnits(buffer.get(i) & 0xFF);
+        }
+        return units;
+    }
+
+    private long[] invokeAll(int regions, RegionTask task) throws IOException {
+        List<Callable<Long>> tasks = new ArrayList<>(regions);
+        for (int region = 0; region < regions; region++) {
+            int index = region;
+            tasks.add(() -> task.run(index));
+        }
+
+        long[] results = new long[regions];
+        List<Future<Long>> futures = pool.invokeAll(tasks);
+        for (int region = 0; region < regions; region++) {
+            try {
+                results[region] = futures.get(region).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while processing file regions", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException io) {
+                    throw io;
+                }
+                if (e.getCause() instanceof UncheckedIOException io) {
+                    throw io.getCause();
+                }
+                throw new IllegalStateException("File region processing failed", e.getCause());
+            }
+        }
+        return results;
+    }
+
+    @FunctionalInterface
+    private interface RegionTask {
+        long run(int region) throws IOException;
+    }
+}
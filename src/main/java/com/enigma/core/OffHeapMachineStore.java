@@ -0,0 +1,224 @@
+package com.enigma.core;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled machines packed into direct-buffer slabs, indexed by configuration id. Tables
+ * take one byte per entry off the heap, and the machines returned by {@link #get} and
+ * {@link #put} read them in place, so each stored configuration costs a small index entry
+ * on the heap instead of its int tables.
+ *
+ * <p>Entries are appended and never overwritten. Space of replaced and removed entries is
+ * reclaimed by copying a slab's live entries out once more than half of it is dead;
+ * machines still reading the old slab keep it reachable until they are collected.
+ * Lookups are lock-free; writes are serialized.
+ *
+ * <p>Writes are version-aware: a machine compiled from an older version never replaces a
+ * newer entry, and {@link #retire} and {@link #delete} leave a floor behind so a lookup that
+ * read the configuration before the change cannot store the stale machine afterwards.
+ */
+public final class OffHeapMachineStore {
+    // Floors only have to outlive lookups that were in flight during a change
+    private static final int MAX_FLOORS = 4096;
+    private static final Long DELETED = Long.MAX_VALUE;
+    private static final Comparator<Long> VERSIONS = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final int slabBytes;
+    private final long maxBytes;
+    private final Map<Long, Slot> index = new ConcurrentHashMap<>();
+    private final Map<Long, Long> floors = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+            return size() > MAX_FLOORS;
+        }
+    };
+    private final List<Slab> slabs = new ArrayList<>();
+    private Slab current;
+
+    public OffHeapMachineStore(int slabBytes, long maxBytes) {
+        if (slabBytes < CompiledMachine.offHeapLength(255)) {
+            throw new IllegalArgumentException("Slab must hold at least one machine: " + slabBytes);
+        }
+        long maxDirectMemory = maxDirectMemory();
+        if (maxBytes > maxDirectMemory) {
+            throw new IllegalArgumentException("Off-heap store limit of " + maxBytes
+                + " bytes exceeds the JVM's direct memory limit of " + maxDirectMemory
+                + " bytes; lower it or raise -XX:MaxDirectMemorySize");
+        }
+        this.slabBytes = slabBytes;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the stored machine for {@code configId} if it was stored for {@code version},
+     * otherwise {@code null}.
+     */
+    public CompiledMachine get(long configId, Long version) {
+        Slot slot = index.get(configId);
+        if (slot == null || !slot.matches(version)) {
+            return null;
+        }
+        return slot.machine();
+    }
+
+    /**
+     * Copies the machine's wiring into the store, replacing any older entry for the id, and
+     * returns a machine reading the stored copy. Returns {@code machine} itself, without
+     * storing it, when the id holds a newer version, was retired past {@code version} or
+     * deleted, or when the store is at its size limit.
+     */
+    public synchronized CompiledMachine put(long configId, Long version, CompiledMachine machine) {
+        Long floor = floors.get(configId);
+        if (floor != null && VERSIONS.compare(version, floor) < 0) {
+            return machine;
+        }
+        Slot existing = index.get(configId);
+        if (existing != null && existing.matches(version)) {
+            return existing.machine();
+        }
+        if (existing != null && VERSIONS.compare(version, existing.version()) < 0) {
+            return machine;
+        }
+        int length = CompiledMachine.offHeapLength(machine.getRotorCount());
+        Slab slab = allocate(length);
+        if (slab == null) {
+            return machine;
+        }
+        Slot slot = new Slot(slab, slab.used, machine.getRotorCount(), version);
+        machine.writeOffHeap(slab.buffer, slab.used);
+        slab.used += length;
+        release(index.put(configId, slot));
+        floors.remove(configId);
+        return slot.machine();
+    }
+
+    public synchronized void remove(long configId) {
+        release(index.remove(configId));
+    }
+
+    /** Drops the entry if it is older than {@code version} and rejects later writes that are. */
+    public synchronized void retire(long configId, Long version) {
+        if (version == null) {
+            return;
+        }
+        Slot slot = index.get(configId);
+        if (slot != null && VERSIONS.compare(slot.version(), version) < 0) {
+            release(index.remove(configId));
+        }
+        floors.merge(configId, version, (current, next) -> VERSIONS.compare(current, next) >= 0 ? current : next);
+    }
+
+    /** Drops the entry and rejects any later write for the id. */
+    public synchronized void delete(long configId) {
+        release(index.remove(configId));
+        floors.put(configId, DELETED);
+    }
+
+    public synchronized void clear() {
+        index.clear();
+        slabs.clear();
+        current = null;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    // Bytes held by live entries
+    public synchronized long usedBytes() {
+        return slabs.stream().mapToLong(slab -> slab.used - slab.dead).sum();
+    }
+
+    // Direct memory held by the store's slabs
+    public synchronized long reservedBytes() {
+        return (long) slabs.size() * slabBytes;
+    }
+
+    // MaxDirectMemorySize=0 means the JVM default, which is the maximum heap size
+    static long maxDirectMemory() {
+        long configured = 0;
+        try {
+            HotSpotDiagnosticMXBean diagnostics = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            if (diagnostics != null) {
+                configured = Long.parseLong(diagnostics.getVMOption("MaxDirectMemorySize").getValue());
+            }
+        } catch (IllegalArgumentException e) {
+            // Not a HotSpot JVM; assume the default
+        }
+        return configured > 0 ? configured : Runtime.getRuntime().maxMemory();
+    }
+
+    private Slab allocate(int length) {
+        if (current == null || slabBytes - current.used < length) {
+            if (reservedBytes() + slabBytes > maxBytes) {
+                return null;
+            }
+            current = new Slab(ByteBuffer.allocateDirect(slabBytes));
+            slabs.add(current);
+        }
+        return current;
+    }
+
+    private void release(Slot slot) {
+        if (slot == null) {
+            return;
+        }
+        Slab slab = slot.slab();
+        slab.dead += slot.length();
+        if (slab != current && slab.dead * 2 > slab.used) {
+            compact(slab);
+        }
+    }
+
+    // Moves the slab's live entries to the current slab and drops it
+    private void compact(Slab slab) {
+        slabs.remove(slab);
+        for (Map.Entry<Long, Slot> entry : index.entrySet()) {
+            Slot slot = entry.getValue();
+            if (slot.slab() != slab) {
+                continue;
+            }
+            Slab target = allocate(slot.length());
+            if (target == null) {
+                index.remove(entry.getKey());
+                continue;
+            }
+            slot.machine().writeOffHeap(target.buffer, target.used);
+            entry.setValue(new Slot(target, target.used, slot.rotorCount(), slot.version()));
+            target.used += slot.length();
+        }
+    }
+
+    private static final class Slab {
+        private final ByteBuffer buffer;
+        private int used;
+        private int dead;
+
+        private Slab(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+
+    private record Slot(Slab slab, int base, int rotorCount, Long version) {
+        boolean matches(Long expected) {
+            return version == null ? expected == null : version.equals(expected);
+        }
+
+        int length() {
+            return CompiledMachine.offHeapLength(rotorCount);
+        }
+
+        CompiledMachine machine() {
+            return CompiledMachine.offHeap(slab.buffer, base, rotorCount);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.enigma.core;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Wiring of one machine packed into a region of a (usually direct) buffer, one byte per
+ * table entry: plugboard, reflector, then each rotor's forward and reverse tables, then
+ * each rotor's start and notch position. Read in place; only ever written once, before
+ * any machine uses it.
+ */
+final class OffHeapWiring {
+    private final ByteBuffer buffer;
+    private final int base;
+    private final int rotors;
+    private final int size;
+
+    OffHeapWiring(ByteBuffer buffer, int base, int rotors, int size) {
+        this.buffer = buffer;
+        this.base = base;
+        this.rotors = rotors;
+        this.size = size;
+    }
+
+    static int length(int rotors, int size) {
+        return 2 * size * (rotors + 1) + 2 * rotors;
+    }
+
+    static void write(ByteBuffer buffer, int base, int size, int[] plugboard, int[] reflector,
+                      int[][] forwardMappings, int[][] reverseMappings,
+                      int[] startPositions, int[] notchPositions) {
+        int rotors = startPositions.length;
+        int index = base;
+        index = put(buffer, index, plugboard, size);
+        index = put(buffer, index, reflector, size);
+        for (int r = 0; r < rotors; r++) {
+            index = put(buffer, index, forwardMappings[r], size);
+            index = put(buffer, index, reverseMappings[r], size);
+        }
+        for (int r = 0; r < rotors; r++) {
+            buffer.put(index++, (byte) startPositions[r]);
+            buffer.put(index++, (byte) notchPositions[r]);
+        }
+    }
+
+    private static int put(ByteBuffer buffer, int index, int[] table, int size) {
+        for (int i = 0; i < size; i++) {
+            buffer.put(index + i, (byte) table[i]);
+        }
+        return index + size;
+    }
+
+    int rotorCount() {
+        return rotors;
+    }
+
+    int length() {
+        return length(rotors, size);
+    }
+
+    void copyTo(ByteBuffer target, int targetBase) {
+        target.put(targetBase, buffer, base, length());
+    }
+
+    int plugboard(int i) {
+        return buffer.get(base + i) & 0xFF;
+    }
+
+    int reflector(int i) {
+        return buffer.get(base + size + i) & 0xFF;
+    }
+
+    int forward(int rotor, int i) {
+        return buffer.get(rotorTable(rotor) + i) & 0xFF;
+    }
+
+    int reverse(int rotor, int i) {
+        return buffer.get(rotorTable(rotor) + size + i) & 0xFF;
+    }
+
+    int startPosition(int rotor) {
+        return buffer.get(positions() + 2 * rotor) & 0xFF;
+    }
+
+    int notchPosition(int rotor) {
+        return buffer.get(positions() + 2 * rotor + 1) & 0xFF;
+    }
+
+    /**
+     * Same signal path as {@link CompiledMachine#processChar}, on a charset index. Tables
+     * are stored once rather than doubled, so rotor lookups wrap with a compare.
+     */
+    int substitute(int index, int[] positions) {
+        ByteBuffer b = buffer;
+        int rotorBase = base + 2 * size;
+        int current = b.get(base + index) & 0xFF;
+        for (int r = 0; r < rotors; r++) {
+            current = shift(b, rotorBase + 2 * size * r, current, positions[r]);
+        }
+        current = b.get(base + size + current) & 0xFF;
+        for (int r = rotors - 1; r >= 0; r--) {
+            current = shift(b, rotorBase + 2 * size * r + size, current, positions[r]);
+        }
+        return b.get(base + current) & 0xFF;
+    }
+
+    private int shift(ByteBuffer b, int table, int pos, int offset) {
+        int i = pos + offset;
+        int unshifted = (b.get(table + (i >= size ? i - size : i)) & 0xFF) - offset;
+        return unshifted < 0 ? unshifted + size : unshifted;
+    }
+
+    private int rotorTable(int rotor) {
+        return base + 2 * size * (rotor + 1);
+    }
+
+    private int positions() {
+        return base + 2 * size * (rotors + 1);
+    }
+}
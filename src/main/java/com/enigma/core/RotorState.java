@@ -0,0 +1,25 @@
+package com.enigma.core;
+
+/**
+ * Rotor positions of a single message being processed by a {@link CompiledMachine}.
+ * Not thread-safe; each caller owns its own state.
+ */
+public final class RotorState {
+    final int[] positions;
+
+    RotorState(int[] positions) {
+        this.positions = positions;
+    }
+
+    public int getPosition(int rotor) {
+        return positions[rotor];
+    }
+
+    public int[] getPositions() {
+        return positions.clone();
+    }
+
+    public int getRotorCount() {
+        return positions.length;
+    }
+}
@@ -0,0 +1,13 @@
+package com.enigma.core;
+
+import java.util.List;
+
+/**
+ * Diagnostic record of one character's path through the machine: the rotor positions it
+ * was processed at and the value after every stage. Produced only by
+ * {@link CompiledMachine#trace(String)}, never on the normal processing path.
+ */
+public record SignalTrace(int index, char input, char output, int[] positions, List<Step> path) {
+
+    public record Step(String stage, char value) {}
+}
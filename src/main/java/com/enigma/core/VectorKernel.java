@@ -0,0 +1,11 @@
+package com.enigma.core;
+
+/**
+ * SIMD signal path over the direct tables. The implementation uses the incubating Vector API
+ * and lives in {@code src/vector/java}, which only the {@code vector} Maven profile compiles.
+ */
+interface VectorKernel {
+
+    /** Processes characters in place and advances {@code positions} past them. */
+    void process(char[] buffer, int offset, int length, int[] positions);
+}
@@ -0,0 +1,43 @@
+package com.enigma.core;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Creates the {@link VectorKernel} when both the Vector API module and the kernel compiled by
+ * the {@code vector} profile are present. The kernel class is looked up by name so that the
+ * default build neither compiles nor loads incubator classes.
+ */
+final class VectorSupport {
+    private static final String KERNEL_CLASS = "com.enigma.core.IncubatorVectorKernel";
+    private static final Constructor<?> KERNEL = findKernel();
+
+    private VectorSupport() {
+    }
+
+    static boolean isAvailable() {
+        return KERNEL != null;
+    }
+
+    static VectorKernel newKernel(CompiledMachine machine, int start, int size, int[] plugboard, int[] reflector,
+                                  int[][] forwardMappings, int[][] reverseMappings, int[] notchPositions) {
+        try {
+            return (VectorKernel) KERNEL.newInstance(machine, start, size, plugboard, reflector,
+                forwardMappings, reverseMappings, notchPositions);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create the vector kernel", e);
+        }
+    }
+
+    private static Constructor<?> findKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return Class.forName(KERNEL_CLASS, false, VectorSupport.class.getClassLoader())
+                .getDeclaredConstructor(CompiledMachine.class, int.class, int.class, int[].class, int[].class,
+                    int[][].class, int[][].class, int[].class);
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            return null;  // Built without the vector profile
+        }
+    }
+}
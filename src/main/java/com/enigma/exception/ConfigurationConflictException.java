@@ -0,0 +1,12 @@
+package com.enigma.exception;
+
+public class ConfigurationConflictException extends EnigmaException {
+
+    public ConfigurationConflictException(Long id, Long expected, Long actual) {
+        super(String.format("Configuration %d is at version %d, not %d", id, actual, expected));
+    }
+
+    public ConfigurationConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,16 +1,43 @@
 package com.enigma.monitoring;
 
+import com.enigma.component.WiringCache;
+import com.enigma.core.OffHeapMachineStore;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 @Component
 public class EnigmaMetrics {
+    // Summaries publish these fixed buckets only; full histograms are kept for the timers
+    private static final double[] MESSAGE_LENGTH_BUCKETS = {16, 256, 4096, 65536, 1 << 20, 16 << 20};
+    private static final double[] THROUGHPUT_BUCKETS = {1e6, 1e7, 3e7, 1e8, 3e8, 1e9};
+    private static final double[] STREAM_SIZE_BUCKETS = {1 << 10, 1 << 16, 1 << 20, 1 << 24, 1 << 28, 1L << 32};
+
+    private final MeterRegistry registry;
+    private final Map<OperationKey, OperationMeters> operationMeters = new ConcurrentHashMap<>();
+    private final Map<Integer, Timer> buildTimers = new ConcurrentHashMap<>();
+    private final Map<OperationKey, StreamMeters> streamMeters = new ConcurrentHashMap<>();
+    private final Timer lookupTimer;
     private final Counter encryptionCounter;
     private final Counter decryptionCounter;
     private final Counter errorCounter;
+    private final Counter cacheHitCounter;
+    private final Counter cacheMissCounter;
+    private final Counter cacheOffHeapHitCounter;
+    private final Counter cacheEvictionCounter;
 
     public EnigmaMetrics(MeterRegistry registry) {
+        this.registry = registry;
         this.encryptionCounter = Counter.builder("enigma.operations")
             .tag("type", "encryption")
             .description("Number of encryption operations")
@@ -24,6 +51,72 @@ public class EnigmaMetrics {
         this.errorCounter = Counter.builder("enigma.errors")
             .description("Number of operation errors")
             .register(registry);
+
+        this.cacheHitCounter = Counter.builder("enigma.machine.cache")
+            .tag("result", "hit")
+            .description("Number of compiled machine cache lookups")
+            .register(registry);
+
+        this.cacheMissCounter = Counter.builder("enigma.machine.cache")
+            .tag("result", "miss")
+            .description("Number of compiled machine cache lookups")
+            .register(registry);
+
+        this.cacheOffHeapHitCounter = Counter.builder("enigma.machine.cache")
+            .tag("result", "off-heap")
+            .description("Number of compiled machine cache lookups")
+            .register(registry);
+
+        this.cacheEvictionCounter = Counter.builder("enigma.machine.cache.evictions")
+            .description("Number of compiled machines evicted from the cache")
+            .register(registry);
+
+        this.lookupTimer = Timer.builder("enigma.config.lookup")
+            .description("Time to load a configuration from the repository")
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofNanos(10_000))
+            .maximumExpectedValue(Duration.ofSeconds(1))
+            .register(registry);
+
+        bindWiringCache(registry, WiringCache.shared());
+    }
+
+    private static void bindWiringCache(MeterRegistry registry, WiringCache cache) {
+        FunctionCounter.builder("enigma.wiring.cache", cache, WiringCache::hitCount)
+            .tag("result", "hit")
+            .description("Number of component wiring cache lookups")
+            .register(registry);
+
+        FunctionCounter.builder("enigma.wiring.cache", cache, WiringCache::missCount)
+            .tag("result", "miss")
+            .description("Number of component wiring cache lookups")
+            .register(registry);
+
+        FunctionCounter.builder("enigma.wiring.cache.evictions", cache, WiringCache::evictionCount)
+            .description("Number of wirings evicted from the cache")
+            .register(registry);
+
+        Gauge.builder("enigma.wiring.cache.size", cache, WiringCache::size)
+            .description("Number of cached component wirings")
+            .register(registry);
+    }
+
+    public void bindOffHeapStore(OffHeapMachineStore store) {
+        Gauge.builder("enigma.machine.offheap.entries", store, OffHeapMachineStore::size)
+            .description("Number of compiled machines in the off-heap store")
+            .register(registry);
+
+        Gauge.builder("enigma.machine.offheap.bytes", store, OffHeapMachineStore::usedBytes)
+            .tag("state", "used")
+            .baseUnit("bytes")
+            .description("Off-heap memory of the compiled machine store")
+            .register(registry);
+
+        Gauge.builder("enigma.machine.offheap.bytes", store, OffHeapMachineStore::reservedBytes)
+            .tag("state", "reserved")
+            .baseUnit("bytes")
+            .description("Off-heap memory of the compiled machine store")
+            .register(registry);
     }
 
     public void incrementEncryption() {
@@ -37,4 +130,119 @@ public class EnigmaMetrics {
     public void incrementError() {
         errorCounter.increment();
     }
+
+    public void incrementCacheHit() {
+        cacheHitCounter.increment();
+    }
+
+    public void incrementCacheMiss() {
+        cacheMissCounter.increment();
+    }
+
+    public void incrementCacheOffHeapHit() {
+        cacheOffHeapHitCounter.increment();
+    }
+
+    public void incrementCacheEviction() {
+        cacheEvictionCounter.increment();
+    }
+
+    public void recordLookup(long nanos) {
+        lookupTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordBuild(int rotorCount, long nanos) {
+        buildTimers.computeIfAbsent(rotorCount, rotors -> Timer.builder("enigma.machine.build")
+                .tag("rotors", String.valueOf(rotors))
+                .description("Time to generate and compile a machine")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(10_000))
+                .maximumExpectedValue(Duration.ofSeconds(1))
+                .register(registry))
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** End-to-end service time of one operation, including lookup, build and cipher. */
+    public void recordRequest(String operation, int rotorCount, long nanos) {
+        meters(operation, rotorCount).request().record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Time spent in the cipher itself, with the message length and resulting throughput. */
+    public void recordCipher(String operation, int rotorCount, long length, long nanos) {
+        OperationMeters meters = meters(operation, rotorCount);
+        meters.cipher().record(nanos, TimeUnit.NANOSECONDS);
+        meters.messageLength().record(length);
+        if (nanos > 0) {
+            meters.throughput().record(length * 1e9 / nanos);
+        }
+    }
+
+    /**
+     * Size of one streamed request. Its duration is bounded by the client's I/O, so it is
+     * recorded as request time only, with no cipher time or throughput.
+     */
+    public void recordStream(String operation, int rotorCount, long bytes, long nanos) {
+        StreamMeters meters = streamMeters.computeIfAbsent(new OperationKey(operation, rotorCount), key -> {
+            Tags tags = tags(key);
+            return new StreamMeters(requestTimer(tags),
+                DistributionSummary.builder("enigma.stream.size")
+                    .tags(tags)
+                    .baseUnit("bytes")
+                    .description("Size of streamed requests")
+                    .serviceLevelObjectives(STREAM_SIZE_BUCKETS)
+                    .register(registry));
+        });
+        meters.request().record(nanos, TimeUnit.NANOSECONDS);
+        meters.size().record(bytes);
+    }
+
+    private OperationMeters meters(String operation, int rotorCount) {
+        return operationMeters.computeIfAbsent(new OperationKey(operation, rotorCount), this::createMeters);
+    }
+
+    private OperationMeters createMeters(OperationKey key) {
+        Tags tags = tags(key);
+        return new OperationMeters(
+            requestTimer(tags),
+            Timer.builder("enigma.cipher")
+                .tags(tags)
+                .description("Time spent running messages through the machine")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(10_000))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry),
+            DistributionSummary.builder("enigma.message.length")
+                .tags(tags)
+                .baseUnit("characters")
+                .description("Length of processed messages")
+                .serviceLevelObjectives(MESSAGE_LENGTH_BUCKETS)
+                .register(registry),
+            DistributionSummary.builder("enigma.cipher.throughput")
+                .tags(tags)
+                .baseUnit("characters_per_second")
+                .description("Cipher throughput per message")
+                .serviceLevelObjectives(THROUGHPUT_BUCKETS)
+                .register(registry));
+    }
+
+    private Timer requestTimer(Tags tags) {
+        return Timer.builder("enigma.request")
+            .tags(tags)
+            .description("End-to-end time of an operation in the service")
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofNanos(100_000))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(registry);
+    }
+
+    private static Tags tags(OperationKey key) {
+        return Tags.of("operation", key.operation(), "rotors", String.valueOf(key.rotorCount()));
+    }
+
+    private record OperationKey(String operation, int rotorCount) {}
+
+    private record OperationMeters(Timer request, Timer cipher, DistributionSummary messageLength,
+                                   DistributionSummary throughput) {}
+
+    private record StreamMeters(Timer request, DistributionSummary size) {}
 }
\ No newline at end of file
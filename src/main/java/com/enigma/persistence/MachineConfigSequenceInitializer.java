@@ -0,0 +1,52 @@
+package com.enigma.persistence;
+
+import com.enigma.persistence.entity.MachineConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the configuration id sequence past ids that already exist. Schemas created while ids
+ * were IDENTITY columns keep their rows, and {@code ddl-auto: update} adds the sequence
+ * starting at 1, so without this the first inserts would collide with existing keys.
+ */
+@Component
+public class MachineConfigSequenceInitializer {
+    private static final Logger logger = LoggerFactory.getLogger(MachineConfigSequenceInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+
+    public MachineConfigSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    @PostConstruct
+    public void alignWithExistingRows() {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from enigma_configurations", Long.class);
+        if (maxId == null) {
+            return;
+        }
+        Long next = jdbcTemplate.queryForObject(
+            dialect.getSequenceSupport().getSequenceNextValString(MachineConfig.ID_SEQUENCE), Long.class);
+        // A pooled block ending at `next` hands out ids from next - allocation size + 1
+        if (next != null && next - MachineConfig.ID_ALLOCATION_SIZE >= maxId) {
+            return;
+        }
+        long restart = maxId + MachineConfig.ID_ALLOCATION_SIZE;
+        try {
+            jdbcTemplate.execute("alter sequence " + MachineConfig.ID_SEQUENCE + " restart with " + restart);
+            logger.info("Moved {} past existing configuration ids (restarts at {})", MachineConfig.ID_SEQUENCE, restart);
+        } catch (DataAccessException e) {
+            throw new IllegalStateException("Sequence " + MachineConfig.ID_SEQUENCE + " is behind existing id "
+                + maxId + "; restart it at " + restart + " or higher before starting", e);
+        }
+    }
+}
@@ -1,23 +1,49 @@
 package com.enigma.persistence.entity;
 
+import com.enigma.component.WiringVersion;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "enigma_configurations")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "machine-configs")
 @Data
 public class MachineConfig {
+    public static final String ID_SEQUENCE = "machine_config_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence ids let Hibernate batch inserts; IDENTITY forces one insert per row
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
+    @Version
+    private Long version;
+
     private Long plugboardSeed;
     private Long reflectorSeed;
 
+    // Null for rows created before wiring versions existed, which use V1
+    @Enumerated(EnumType.STRING)
+    private WiringVersion wiringVersion;
+
+    // Wiring in CompiledMachine's binary form, written alongside the seeds so machines can be
+    // loaded without regenerating it; null for rows written before it existed
+    @Lob
+    @Column(name = "compiled_wiring")
+    private byte[] compiledWiring;
+
     @ElementCollection
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "machine-config-rotors")
     @CollectionTable(name = "rotor_configurations")
     private List<RotorConfiguration> rotorConfigurations = new ArrayList<>();
 }
@@ -1,7 +1,30 @@
 package com.enigma.persistence.repository;
 
 import com.enigma.persistence.entity.MachineConfig;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface MachineConfigRepository extends JpaRepository<MachineConfig, Long> {
-}
\ No newline at end of file
+
+    // Loads the rotors in the same query; results are served from the query cache when warm
+    @EntityGraph(attributePaths = "rotorConfigurations")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Transactional(readOnly = true)
+    Optional<MachineConfig> findWithRotorsById(Long id);
+
+    @EntityGraph(attributePaths = "rotorConfigurations")
+    List<MachineConfig> findAllWithRotorsByIdIn(Collection<Long> ids);
+
+    @Query("select c.id from MachineConfig c order by c.id desc")
+    List<Long> findLatestIds(Pageable pageable);
+}
@@ -0,0 +1,12 @@
+package com.enigma.service;
+
+/**
+ * One message of a batch. Encryption and decryption run the same machine; the operation
+ * only decides which operation metrics the item counts towards.
+ */
+public record BatchItem(String message, Long configId, Operation operation) {
+
+    public enum Operation {
+        ENCRYPT, DECRYPT
+    }
+}
@@ -0,0 +1,16 @@
+package com.enigma.service;
+
+/**
+ * Outcome of one batch item, at its position in the request. Exactly one of
+ * {@code result} and {@code error} is set.
+ */
+public record BatchResult(int index, String result, String error) {
+
+    public static BatchResult success(int index, String result) {
+        return new BatchResult(index, result, null);
+    }
+
+    public static BatchResult failure(int index, String error) {
+        return new BatchResult(index, null, error);
+    }
+}
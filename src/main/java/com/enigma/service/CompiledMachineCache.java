@@ -0,0 +1,144 @@
+package com.enigma.service;
+
+import com.enigma.config.EnigmaProperties;
+import com.enigma.core.CompiledMachine;
+import com.enigma.core.OffHeapMachineStore;
+import com.enigma.monitoring.EnigmaMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of compiled machines keyed by configuration id. Each entry remembers
+ * the configuration version it was compiled from, so a changed configuration is recompiled
+ * on its next lookup. Configuration changes also evict their entry eagerly through
+ * {@link ConfigurationChangedEvent}, so stale machines do not linger until evicted by size.
+ *
+ * <p>With {@code enigma.cache.off-heap} enabled, every compiled machine is also packed into
+ * an {@link OffHeapMachineStore}; the LRU then holds machines that read from it, and
+ * entries evicted from the LRU are served from the store without recompiling.
+ */
+@Component
+public class CompiledMachineCache {
+    private static final Logger logger = LoggerFactory.getLogger(CompiledMachineCache.class);
+
+    private final Map<Long, Entry> entries;
+    private final EnigmaMetrics metrics;
+    private final OffHeapMachineStore offHeapStore;
+
+    public CompiledMachineCache(EnigmaProperties properties, EnigmaMetrics metrics) {
+        int maxSize = properties.getCache().getMaxSize();
+        this.metrics = metrics;
+        EnigmaProperties.CacheConfig cache = properties.getCache();
+        this.offHeapStore = cache.isOffHeap()
+            ? new OffHeapMachineStore(cache.getOffHeapSlabBytes(), cache.getOffHeapMaxBytes())
+            : null;
+        if (offHeapStore != null) {
+            metrics.bindOffHeapStore(offHeapStore);
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > maxSize) {
+                    metrics.incrementCacheEviction();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public CompiledMachine get(Long configId, Long version, Supplier<CompiledMachine> compiler) {
+        synchronized (entries) {
+            Entry entry = entries.get(configId);
+            if (entry != null && Objects.equals(entry.version(), version)) {
+                metrics.incrementCacheHit();
+                return entry.machine();
+            }
+        }
+
+        CompiledMachine machine = offHeapStore != null ? offHeapStore.get(configId, version) : null;
+        if (machine != null) {
+            metrics.incrementCacheOffHeapHit();
+        } else {
+            metrics.incrementCacheMiss();
+            machine = compiler.get();
+            if (offHeapStore != null) {
+                machine = offHeapStore.put(configId, version, machine);
+            }
+            logger.debug("Compiled machine for configuration {} (version {})", configId, version);
+        }
+
+        synchronized (entries) {
+            Entry current = entries.get(configId);
+            if (current == null || isNewer(version, current.version())) {
+                entries.put(configId, new Entry(version, machine));
+            }
+        }
+        return machine;
+    }
+
+    public void invalidate(Long configId) {
+        if (offHeapStore != null) {
+            offHeapStore.remove(configId);
+        }
+        synchronized (entries) {
+            entries.remove(configId);
+        }
+    }
+
+    // Runs after the change commits, so a concurrent lookup cannot recompile the old version
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        if (event.type() == ConfigurationChangedEvent.Type.CREATED) {
+            return;
+        }
+        if (offHeapStore != null) {
+            // Also rejects stale machines that lookups in flight during the change try to store
+            if (event.type() == ConfigurationChangedEvent.Type.DELETED) {
+                offHeapStore.delete(event.configId());
+            } else {
+                offHeapStore.retire(event.configId(), event.version());
+            }
+        }
+        synchronized (entries) {
+            Entry entry = entries.get(event.configId());
+            if (entry != null && (event.type() == ConfigurationChangedEvent.Type.DELETED
+                    || !Objects.equals(entry.version(), event.version()))) {
+                entries.remove(event.configId());
+                logger.debug("Invalidated machine for configuration {} ({})", event.configId(), event.type());
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        if (offHeapStore != null) {
+            offHeapStore.clear();
+        }
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // A slow compile of an older version must not replace the entry for a newer one
+    private static boolean isNewer(Long version, Long current) {
+        if (version == null) {
+            return false;
+        }
+        return current == null || version > current;
+    }
+
+    private record Entry(Long version, CompiledMachine machine) {}
+}
@@ -0,0 +1,13 @@
+package com.enigma.service;
+
+/**
+ * Published whenever a stored configuration is created, updated or deleted. Listeners
+ * receive it after the change commits; {@code version} is the committed version, or the
+ * last version for a deletion.
+ */
+public record ConfigurationChangedEvent(Long configId, Long version, Type type) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,20 @@
+package com.enigma.service;
+
+import com.enigma.component.WiringVersion;
+
+import java.util.List;
+
+/**
+ * The settings of a configuration to create or update, as read from a request or an import
+ * row. Values are checked by the validator once applied; {@code version} is the version the
+ * caller last read and is only compared on update.
+ */
+public record ConfigurationCommand(Long plugboardSeed,
+                                   Long reflectorSeed,
+                                   WiringVersion wiringVersion,
+                                   List<Rotor> rotorConfigurations,
+                                   Long version) {
+
+    public record Rotor(Long seed, Integer startPosition, Integer notchPosition) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.enigma.service;
+
+import com.enigma.component.WiringVersion;
+import com.enigma.config.EnigmaProperties;
+import com.enigma.exception.InvalidConfigurationException;
+import com.enigma.persistence.entity.MachineConfig;
+import com.enigma.validation.ConfigurationValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams configurations from JSON lines or CSV into the database. Rows are parsed and
+ * validated one at a time and persisted in chunks, each in its own transaction, so memory
+ * stays bounded and a bad row only rejects itself.
+ */
+@Service
+public class ConfigurationImporter {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigurationImporter.class);
+
+    private final ConfigurationService configurationService;
+    private final ConfigurationValidator validator;
+    private final ObjectReader jsonReader;
+    private final EnigmaProperties.BulkImportConfig settings;
+
+    public ConfigurationImporter(ConfigurationService configurationService,
+                                 ConfigurationValidator validator,
+                                 ObjectMapper objectMapper,
+                                 EnigmaProperties properties) {
+        this.configurationService = configurationService;
+        this.validator = validator;
+        this.jsonReader = objectMapper.readerFor(ConfigurationCommand.class);
+        this.settings = properties.getBulkImport();
+    }
+
+    public ImportResult importConfigurations(InputStream in, ImportFormat format) throws IOException {
+        long start = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<MachineConfig> chunk = new ArrayList<>(settings.getChunkSize());
+        List<String> errors = new ArrayList<>();
+        long imported = 0;
+        long rejected = 0;
+        long lineNumber = 0;
+
+        boolean completed = true;
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (format == ImportFormat.CSV && lineNumber == 1 && line.startsWith("plugboardSeed"))) {
+                    continue;
+                }
+                try {
+                    MachineConfig config = ConfigurationService.apply(new MachineConfig(), parse(line, format));
+                    validator.validateConfiguration(config);
+                    chunk.add(config);
+                } catch (InvalidConfigurationException | JsonProcessingException | IllegalArgumentException e) {
+                    rejected++;
+                    if (errors.size() < settings.getMaxReportedErrors()) {
+                        errors.add("Line " + lineNumber + ": " + reason(e));
+                    }
+                    continue;
+                }
+                if (chunk.size() == settings.getChunkSize()) {
+                    imported += persist(chunk);
+                }
+            }
+            imported += persist(chunk);
+        } catch (RuntimeException e) {
+            // Earlier chunks are committed; report them rather than failing the whole request
+            logger.error("Import stopped at line {} after {} configurations", lineNumber, imported, e);
+            completed = false;
+            rejected += chunk.size();
+            errors.add("Line " + lineNumber + ": import stopped, " + chunk.size()
+                + " pending rows were not imported: " + e.getMessage());
+        }
+
+        ImportResult result = new ImportResult(imported, rejected, completed, System.nanoTime() - start, errors);
+        logger.info("Imported {} configurations ({} rejected) at {} rows/s",
+            imported, rejected, Math.round(result.rowsPerSecond()));
+        return result;
+    }
+
+    private int persist(List<MachineConfig> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        int count = configurationService.createAll(chunk).size();
+        chunk.clear();
+        return count;
+    }
+
+    private ConfigurationCommand parse(String line, ImportFormat format) throws JsonProcessingException {
+        ConfigurationCommand command = format == ImportFormat.CSV ? parseCsv(line) : jsonReader.readValue(line);
+        if (command == null) {
+            throw new IllegalArgumentException("Expected a configuration object");
+        }
+        return command;
+    }
+
+    private static ConfigurationCommand parseCsv(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != 4) {
+            throw new IllegalArgumentException("Expected 4 fields but found " + fields.length);
+        }
+        List<ConfigurationCommand.Rotor> rotors = new ArrayList<>();
+        for (String value : fields[3].split(";")) {
+            String[] parts = value.split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Rotor must be seed:start:notch but was '" + value + "'");
+            }
+            rotors.add(new ConfigurationCommand.Rotor(
+                Long.valueOf(parts[0].trim()),
+                Integer.valueOf(parts[1].trim()),
+                Integer.valueOf(parts[2].trim())));
+        }
+        return new ConfigurationCommand(
+            Long.valueOf(fields[0].trim()),
+            Long.valueOf(fields[1].trim()),
+            fields[2].isBlank() ? null : WiringVersion.valueOf(fields[2].trim()),
+            rotors,
+            null);
+    }
+
+    private static String reason(Exception e) {
+        return e instanceof JsonProcessingException json ? json.getOriginalMessage() : e.getMessage();
+    }
+}
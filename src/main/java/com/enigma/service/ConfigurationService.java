@@ -0,0 +1,134 @@
+package com.enigma.service;
+
+import com.enigma.config.EnigmaProperties;
+import com.enigma.core.CompiledMachine;
+import com.enigma.exception.ConfigurationConflictException;
+import com.enigma.exception.InvalidConfigurationException;
+import com.enigma.exception.ResourceNotFoundException;
+import com.enigma.persistence.entity.MachineConfig;
+import com.enigma.persistence.entity.RotorConfiguration;
+import com.enigma.persistence.repository.MachineConfigRepository;
+import com.enigma.validation.ConfigurationValidator;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Creates, updates and deletes stored configurations. Every change bumps the entity's
+ * version and publishes a {@link ConfigurationChangedEvent} so caches drop exactly the
+ * affected entry once the change commits.
+ */
+@Service
+@Transactional
+public class ConfigurationService {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigurationService.class);
+
+    private final MachineConfigRepository configRepository;
+    private final ConfigurationValidator validator;
+    private final ApplicationEventPublisher events;
+    private final EnigmaProperties properties;
+
+    public ConfigurationService(MachineConfigRepository configRepository,
+                                ConfigurationValidator validator,
+                                ApplicationEventPublisher events,
+                                EnigmaProperties properties) {
+        this.configRepository = configRepository;
+        this.validator = validator;
+        this.events = events;
+        this.properties = properties;
+    }
+
+    @Transactional(readOnly = true)
+    public MachineConfig get(Long id) {
+        return configRepository.findWithRotorsById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Configuration", id));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<MachineConfig> list(Pageable pageable) {
+        // Loaded inside the transaction, in batches, so callers can read the rotors
+        Page<MachineConfig> page = configRepository.findAll(pageable);
+        page.forEach(config -> Hibernate.initialize(config.getRotorConfigurations()));
+        return page;
+    }
+
+    public MachineConfig create(ConfigurationCommand command) {
+        MachineConfig config = apply(new MachineConfig(), command);
+        validator.validateConfiguration(config);
+        compileWiring(config);
+        MachineConfig saved = configRepository.saveAndFlush(config);
+        publish(saved, ConfigurationChangedEvent.Type.CREATED);
+        return saved;
+    }
+
+    /**
+     * Persists already validated configurations in one transaction. Inserts are batched by
+     * Hibernate since ids come from a pooled sequence.
+     */
+    public List<MachineConfig> createAll(List<MachineConfig> configs) {
+        configs.forEach(this::compileWiring);
+        List<MachineConfig> saved = configRepository.saveAll(configs);
+        configRepository.flush();
+        saved.forEach(config -> publish(config, ConfigurationChangedEvent.Type.CREATED));
+        return saved;
+    }
+
+    public MachineConfig update(Long id, ConfigurationCommand command) {
+        MachineConfig config = get(id);
+        if (command.version() != null && !Objects.equals(command.version(), config.getVersion())) {
+            throw new ConfigurationConflictException(id, command.version(), config.getVersion());
+        }
+        apply(config, command);
+        validator.validateConfiguration(config);
+        compileWiring(config);
+        MachineConfig saved = configRepository.saveAndFlush(config);
+        publish(saved, ConfigurationChangedEvent.Type.UPDATED);
+        return saved;
+    }
+
+    public void delete(Long id) {
+        MachineConfig config = get(id);
+        configRepository.delete(config);
+        publish(config, ConfigurationChangedEvent.Type.DELETED);
+    }
+
+    static MachineConfig apply(MachineConfig config, ConfigurationCommand command) {
+        config.setPlugboardSeed(command.plugboardSeed());
+        config.setReflectorSeed(command.reflectorSeed());
+        config.setWiringVersion(command.wiringVersion());
+        // Mutate the managed collection in place so Hibernate tracks it as a change
+        config.getRotorConfigurations().clear();
+        if (command.rotorConfigurations() == null) {
+            return config;  // Rejected by the validator
+        }
+        command.rotorConfigurations().forEach(rotor -> {
+            if (rotor == null) {
+                throw new InvalidConfigurationException("Rotor configuration must not be null");
+            }
+            RotorConfiguration rotorConfig = new RotorConfiguration();
+            rotorConfig.setSeed(rotor.seed());
+            rotorConfig.setStartPosition(rotor.startPosition());
+            rotorConfig.setNotchPosition(rotor.notchPosition());
+            config.getRotorConfigurations().add(rotorConfig);
+        });
+        return config;
+    }
+
+    // Stored with the row so cold starts and cache misses load it instead of regenerating it
+    private void compileWiring(MachineConfig config) {
+        config.setCompiledWiring(CompiledMachine.compile(EnigmaService.configuration(config, properties)).toBytes());
+    }
+
+    private void publish(MachineConfig config, ConfigurationChangedEvent.Type type) {
+        logger.debug("Configuration {} {} at version {}", config.getId(), type, config.getVersion());
+        events.publishEvent(new ConfigurationChangedEvent(config.getId(), config.getVersion(), type));
+    }
+}
@@ -1,50 +1,258 @@
 package com.enigma.service;
 
+import com.enigma.component.WiringVersion;
 import com.enigma.config.EnigmaProperties;
+import com.enigma.core.CompiledMachine;
 import com.enigma.core.EnigmaConfiguration;
-import com.enigma.core.EnigmaMachine;
+import com.enigma.core.FileProcessingResult;
+import com.enigma.core.MappedFileProcessor;
+import com.enigma.core.SignalTrace;
+import com.enigma.exception.InvalidConfigurationException;
 import com.enigma.exception.ResourceNotFoundException;
+import com.enigma.monitoring.EnigmaMetrics;
 import com.enigma.persistence.entity.MachineConfig;
 import com.enigma.persistence.repository.MachineConfigRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 @Service
 @Transactional(readOnly = true)
 public class EnigmaService {
+    private static final Logger logger = LoggerFactory.getLogger(EnigmaService.class);
+
     private final MachineConfigRepository configRepository;
     private final EnigmaProperties properties;
+    private final CompiledMachineCache machineCache;
+    private final EnigmaMetrics metrics;
 
-    public EnigmaService(MachineConfigRepository configRepository, EnigmaProperties properties) {
+    public EnigmaService(MachineConfigRepository configRepository, EnigmaProperties properties,
+                         CompiledMachineCache machineCache, EnigmaMetrics metrics) {
         this.configRepository = configRepository;
         this.properties = properties;
+        this.machineCache = machineCache;
+        this.metrics = metrics;
     }
 
     public String encrypt(String message, Long configId) {
-        MachineConfig config = configRepository.findById(configId)
-            .orElseThrow(() -> new ResourceNotFoundException("Configuration not found"));
-            
-        EnigmaMachine machine = createMachine(config);
-        return machine.encrypt(message);
+        metrics.incrementEncryption();
+        return timed("encrypt", message, configId, 0);
     }
 
     public String decrypt(String message, Long configId) {
-        MachineConfig config = configRepository.findById(configId)
+        metrics.incrementDecryption();
+        return timed("decrypt", message, configId, 0);
+    }
+
+    /**
+     * Decrypts a slice of a longer ciphertext that starts {@code offset} characters into it,
+     * without processing the characters before it. Slices are processed on the calling thread.
+     */
+    public String decryptAt(String slice, Long configId, long offset) {
+        metrics.incrementDecryption();
+        return timed("decrypt", slice, configId, offset);
+    }
+
+    private String timed(String operation, String message, Long configId, long offset) {
+        long start = System.nanoTime();
+        try {
+            CompiledMachine machine = getMachine(configId);
+            long cipherStart = System.nanoTime();
+            String result = offset == 0 ? process(machine, message) : machine.process(message, offset);
+            long end = System.nanoTime();
+            metrics.recordCipher(operation, machine.getRotorCount(), message.length(), end - cipherStart);
+            metrics.recordRequest(operation, machine.getRotorCount(), end - start);
+            return result;
+        } catch (RuntimeException e) {
+            metrics.incrementError();
+            throw e;
+        }
+    }
+
+    public List<SignalTrace> trace(String message, Long configId) {
+        return getMachine(configId).trace(message);
+    }
+
+    /**
+     * Processes many messages in one call. Each distinct configuration is loaded in a single
+     * query and compiled once; failures are reported per item instead of failing the batch.
+     */
+    public List<BatchResult> processBatch(List<BatchItem> items, boolean parallel) {
+        Map<Long, Resolution> machines = resolveMachines(items.stream()
+            .map(BatchItem::configId)
+            .collect(Collectors.toSet()));
+
+        IntStream indexes = IntStream.range(0, items.size());
+        if (parallel) {
+            indexes = indexes.parallel();
+        }
+        return indexes.mapToObj(i -> {
+            BatchItem item = items.get(i);
+            String operation;
+            if (item.operation() == BatchItem.Operation.DECRYPT) {
+                metrics.incrementDecryption();
+                operation = "decrypt";
+            } else {
+                metrics.incrementEncryption();
+                operation = "encrypt";
+            }
+            Resolution resolution = machines.get(item.configId());
+            if (resolution.error() != null) {
+                metrics.incrementError();
+                return BatchResult.failure(i, resolution.error());
+            }
+            long start = System.nanoTime();
+            String result = process(resolution.machine(), item.message());
+            metrics.recordCipher(operation, resolution.machine().getRotorCount(), item.message().length(),
+                System.nanoTime() - start);
+            return BatchResult.success(i, result);
+        }).toList();
+    }
+
+    /**
+     * Loads and compiles the given configurations into the machine cache, skipping ids that
+     * do not exist or do not compile. Returns the compiled machines.
+     */
+    public List<CompiledMachine> preload(Collection<Long> configIds) {
+        return resolveMachines(new HashSet<>(configIds)).values().stream()
+            .map(Resolution::machine)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
+    private Map<Long, Resolution> resolveMachines(Set<Long> configIds) {
+        Map<Long, Resolution> machines = new HashMap<>();
+        for (MachineConfig config : configRepository.findAllWithRotorsByIdIn(configIds)) {
+            try {
+                CompiledMachine machine = machineCache.get(config.getId(), config.getVersion(),
+                    () -> createMachine(config));
+                machines.put(config.getId(), new Resolution(machine, null));
+            } catch (InvalidConfigurationException e) {
+                machines.put(config.getId(), new Resolution(null, e.getMessage()));
+            }
+        }
+        configIds.forEach(id -> machines.putIfAbsent(id, new Resolution(null, "Configuration not found")));
+        return machines;
+    }
+
+    private String process(CompiledMachine machine, String message) {
+        EnigmaProperties.ParallelConfig parallel = properties.getParallel();
+        if (message.length() >= parallel.getThreshold()) {
+            return machine.processParallel(message, parallel.getChunkSize(), ForkJoinPool.commonPool());
+        }
+        return machine.process(message);
+    }
+
+    /**
+     * Streams UTF-8 bytes from {@code in} to {@code out}. The configuration is resolved up front
+     * in its own short read-only transaction, so no connection is held while the client uploads
+     * and downloads; only one buffer is held at a time.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long encrypt(Long configId, InputStream in, OutputStream out) throws IOException {
+        metrics.incrementEncryption();
+        return stream("encrypt-stream", configId, in, out);
+    }
+
+    /** Decrypts a stream; the same operation as {@link #encrypt(Long, InputStream, OutputStream)}. */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long decrypt(Long configId, InputStream in, OutputStream out) throws IOException {
+        metrics.incrementDecryption();
+        return stream("decrypt-stream", configId, in, out);
+    }
+
+    private long stream(String operation, Long configId, InputStream in, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        try {
+            CompiledMachine machine = getMachine(configId);
+            long bytes = machine.process(in, out, properties.getStreaming().getBufferSize());
+            metrics.recordStream(operation, machine.getRotorCount(), bytes, System.nanoTime() - start);
+            return bytes;
+        } catch (IOException | RuntimeException e) {
+            metrics.incrementError();
+            throw e;
+        }
+    }
+
+    /**
+     * Encrypts (or decrypts) {@code input} into {@code output} through memory-mapped regions
+     * processed in parallel, returning the size and throughput of the run. Like the stream
+     * path, no transaction is held while the file is processed.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public FileProcessingResult processFile(Long configId, Path input, Path output) throws IOException {
+        CompiledMachine machine = getMachine(configId);
+        MappedFileProcessor processor = new MappedFileProcessor(machine,
+            properties.getFile().getRegionSize(), ForkJoinPool.commonPool());
+        return processor.process(input, output);
+    }
+
+    private CompiledMachine getMachine(Long configId) {
+        long start = System.nanoTime();
+        MachineConfig config = configRepository.findWithRotorsById(configId)
             .orElseThrow(() -> new ResourceNotFoundException("Configuration not found"));
-            
-        EnigmaMachine machine = createMachine(config);
-        return machine.decrypt(message);
+        metrics.recordLookup(System.nanoTime() - start);
+
+        return machineCache.get(configId, config.getVersion(), () -> createMachine(config));
+    }
+
+    private CompiledMachine createMachine(MachineConfig config) {
+        long start = System.nanoTime();
+        CompiledMachine machine = load(config);
+        // Off-heap machines always run the scalar path, so the store would discard these
+        if (!properties.getCache().isOffHeap()) {
+            if (properties.getEngine().isCompositeTables()) {
+                machine = machine.withCompositeTables(properties.getEngine().getCompositeCacheStates());
+            }
+            if (properties.getEngine().isVector()) {
+                machine = machine.withVectorKernel();
+            }
+        }
+        metrics.recordBuild(machine.getRotorCount(), System.nanoTime() - start);
+        return machine;
     }
 
-    private EnigmaMachine createMachine(MachineConfig config) {
+    // Stored wiring skips regeneration; the seeds remain the source of truth if it is unusable
+    private CompiledMachine load(MachineConfig config) {
+        if (config.getCompiledWiring() != null) {
+            try {
+                return CompiledMachine.read(ByteBuffer.wrap(config.getCompiledWiring()));
+            } catch (InvalidConfigurationException e) {
+                logger.warn("Regenerating wiring for configuration {}: {}", config.getId(), e.getMessage());
+            }
+        }
+        return CompiledMachine.compile(configuration(config, properties));
+    }
+
+    static EnigmaConfiguration configuration(MachineConfig config, EnigmaProperties properties) {
         EnigmaConfiguration.Builder builder = new EnigmaConfiguration.Builder(properties)
             .plugboardSeed(config.getPlugboardSeed())
-            .reflectorSeed(config.getReflectorSeed());
-            
-        config.getRotorConfigurations().forEach(rotor -> 
+            .reflectorSeed(config.getReflectorSeed())
+            .wiringVersion(config.getWiringVersion() != null ? config.getWiringVersion() : WiringVersion.V1);
+
+        config.getRotorConfigurations().forEach(rotor ->
             builder.addRotor(rotor.getSeed(), rotor.getStartPosition(), rotor.getNotchPosition())
         );
-        
-        return new EnigmaMachine(builder.build());
+        return builder.build();
     }
+
+    private record Resolution(CompiledMachine machine, String error) {}
 }
@@ -0,0 +1,24 @@
+package com.enigma.service;
+
+import java.util.Locale;
+
+/**
+ * Line formats accepted by {@link ConfigurationImporter}. {@code JSONL} holds one
+ * configuration request object per line; {@code CSV} holds
+ * {@code plugboardSeed,reflectorSeed,wiringVersion,seed:start:notch;seed:start:notch...}
+ * with an optional header line and an optional (empty) wiring version.
+ */
+public enum ImportFormat {
+    JSONL, CSV;
+
+    public static ImportFormat forContentType(String contentType) {
+        if (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("text/csv")) {
+            return CSV;
+        }
+        return JSONL;
+    }
+
+    public static ImportFormat forFileName(String fileName) {
+        return fileName.toLowerCase(Locale.ROOT).endsWith(".csv") ? CSV : JSONL;
+    }
+}
@@ -0,0 +1,19 @@
+package com.enigma.service;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. {@code errors} lists the first rejected lines with their
+ * reason; {@code rejected} counts all of them. {@code completed} is false when the import
+ * stopped early because a chunk could not be persisted; {@code imported} rows stay committed.
+ */
+public record ImportResult(long imported, long rejected, boolean completed, long elapsedNanos,
+                           List<String> errors) {
+
+    public double rowsPerSecond() {
+        if (elapsedNanos == 0) {
+            return 0;
+        }
+        return imported / (elapsedNanos / 1_000_000_000.0);
+    }
+}
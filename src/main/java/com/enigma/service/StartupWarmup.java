@@ -0,0 +1,95 @@
+package com.enigma.service;
+
+import com.enigma.config.EnigmaProperties;
+import com.enigma.core.CompiledMachine;
+import com.enigma.core.EnigmaConfiguration;
+import com.enigma.core.RotorState;
+import com.enigma.persistence.repository.MachineConfigRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Preloads configured and recently created configurations into the compiled-machine cache
+ * and runs the engine to warm the JIT. Runs as an {@link ApplicationRunner}, so the
+ * readiness probe only reports ACCEPTING_TRAFFIC once it has finished. Only servers warm up;
+ * the command line tools start without a web context and skip it.
+ */
+@Component
+@ConditionalOnWebApplication
+@ConditionalOnProperty(prefix = "enigma.warmup", name = "enabled", havingValue = "true")
+public class StartupWarmup implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private final EnigmaService enigmaService;
+    private final MachineConfigRepository configRepository;
+    private final EnigmaProperties properties;
+
+    public StartupWarmup(EnigmaService enigmaService, MachineConfigRepository configRepository,
+                         EnigmaProperties properties) {
+        this.enigmaService = enigmaService;
+        this.configRepository = configRepository;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        EnigmaProperties.WarmupConfig warmup = properties.getWarmup();
+
+        Set<Long> configIds = new LinkedHashSet<>(warmup.getConfigIds());
+        if (warmup.getLatestConfigs() > 0) {
+            configIds.addAll(configRepository.findLatestIds(PageRequest.of(0, warmup.getLatestConfigs())));
+        }
+        List<CompiledMachine> machines = new ArrayList<>(enigmaService.preload(configIds));
+        if (machines.isEmpty()) {
+            // Nothing stored yet: still compile the engine's hot loops
+            machines.add(CompiledMachine.compile(defaultConfiguration()));
+        }
+
+        int perMachine = Math.max(1, warmup.getCharacters() / machines.size());
+        for (CompiledMachine machine : machines) {
+            exercise(machine, perMachine);
+        }
+
+        logger.info("Warm-up preloaded {} configurations and processed {} characters in {} ms",
+            machines.size(), (long) perMachine * machines.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Runs the char and byte paths over printable text in 4 KB slices
+    private static void exercise(CompiledMachine machine, int characters) {
+        char[] chars = new char[4096];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) (' ' + (i * 31) % 95);
+        }
+        byte[] bytes = new String(chars).getBytes(StandardCharsets.US_ASCII);
+
+        RotorState state = machine.newState();
+        for (int done = 0; done < characters; done += chars.length * 2) {
+            machine.process(chars, 0, chars.length, state);
+            machine.process(bytes, 0, bytes.length, state);
+        }
+    }
+
+    private EnigmaConfiguration defaultConfiguration() {
+        long seed = properties.getRotors().getDefaultSeed();
+        EnigmaConfiguration.Builder builder = new EnigmaConfiguration.Builder(properties)
+            .plugboardSeed(seed)
+            .reflectorSeed(seed);
+        for (int i = 0; i < properties.getRotors().getMinRotors(); i++) {
+            builder.addRotor(seed + i);
+        }
+        return builder.build();
+    }
+}
@@ -20,7 +20,9 @@ public class SecureRandom {
     public SecureRandom(long seed) {
         this.seed = scrambleSeed(seed);
         this.sequence = 0;
-        logger.debug("Initialized SecureRandom with seed: {}", seed);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Initialized SecureRandom with seed: {}", seed);
+        }
     }
     
     public SecureRandom() {
@@ -39,7 +41,6 @@ public class SecureRandom {
     protected long next() {
         seed = (seed * MULTIPLIER + ADDEND) & MASK;
         sequence++;
-        logger.trace("Generated random number {} in sequence {}", seed, sequence);
         return seed;
     }
     
@@ -49,9 +50,7 @@ public class SecureRandom {
         }
         
         long result = next();
-        int r = (int) (bound * (result >>> 1) / (1L << 62));
-        logger.trace("Generated random integer {} in range [0, {})", r, bound);
-        return r;
+        return (int) (((result >>> 31) * bound) >>> 32);
     }
     
     public int nextIntBetween(int min, int max) {
@@ -1,6 +1,7 @@
 package com.enigma.validation;
 
 import com.enigma.config.EnigmaProperties;
+import com.enigma.config.EnigmaProperties.CharsetConfig;
 import com.enigma.exception.InvalidConfigurationException;
 import com.enigma.persistence.entity.MachineConfig;
 import org.springframework.stereotype.Component;
@@ -18,11 +19,11 @@ public class ConfigurationValidator {
             throw new InvalidConfigurationException("Configuration cannot be null");
         }
 
-        if (config.getPlugboardSeed() <= 0) {
+        if (!isPositive(config.getPlugboardSeed())) {
             throw new InvalidConfigurationException("Plugboard seed must be positive");
         }
 
-        if (config.getReflectorSeed() <= 0) {
+        if (!isPositive(config.getReflectorSeed())) {
             throw new InvalidConfigurationException("Reflector seed must be positive");
         }
 
@@ -40,10 +41,24 @@ public class ConfigurationValidator {
                     properties.getRotors().getMaxRotors()));
         }
 
+        int size = CharsetConfig.END - CharsetConfig.START + 1;
         config.getRotorConfigurations().forEach(rotor -> {
-            if (rotor.getSeed() <= 0) {
+            if (!isPositive(rotor.getSeed())) {
                 throw new InvalidConfigurationException("Rotor seed must be positive");
             }
+            validatePosition(rotor.getStartPosition(), size);
+            validatePosition(rotor.getNotchPosition(), size);
         });
     }
+
+    private static boolean isPositive(Long seed) {
+        return seed != null && seed > 0;
+    }
+
+    private static void validatePosition(Integer position, int size) {
+        if (position == null || position < 0 || position >= size) {
+            throw InvalidConfigurationException.invalidRotorPosition(
+                position == null ? -1 : position, 0, size - 1);
+        }
+    }
 }
@@ -1,16 +1,23 @@
 package com.enigma.api.controller;
 
+import com.enigma.api.dto.BatchRequest;
 import com.enigma.api.dto.EncryptionRequest;
+import com.enigma.config.SecurityConfig;
+import com.enigma.service.BatchResult;
 import com.enigma.service.EnigmaService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -18,6 +25,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
 @WebMvcTest(EnigmaController.class)
+@Import(SecurityConfig.class)
 class EnigmaControllerTest {
     @Autowired
     private MockMvc mockMvc;
@@ -45,4 +53,33 @@ class EnigmaControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.result").value("Encrypted Message"));
     }
+
+    @Test
+    void shouldProcessBatch() throws Exception {
+        // Given
+        BatchRequest.Item item = new BatchRequest.Item();
+        item.setMessage("Hello World");
+        item.setConfigId(1L);
+        item.setOperation(BatchRequest.Operation.ENCRYPT);
+        BatchRequest request = new BatchRequest();
+        request.setItems(List.of(item));
+
+        when(enigmaService.processBatch(any(), anyBoolean()))
+            .thenReturn(List.of(BatchResult.success(0, "Encrypted Message")));
+
+        // When/Then
+        mockMvc.perform(post("/api/v1/enigma/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].result").value("Encrypted Message"));
+    }
+
+    @Test
+    void emptyBatchShouldBeRejected() throws Exception {
+        mockMvc.perform(post("/api/v1/enigma/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\": []}"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -42,11 +42,30 @@ class ReflectorTest {
 
     @Test
     void noCharacterShouldMapToItself() {
+        // An odd-sized charset cannot be fully paired, so exactly one character is left over
+        int selfMapped = 0;
         for (char c = properties.getCharset().getStart(); 
              c <= properties.getCharset().getEnd(); c++) {
-            assertNotEquals(c, reflector.transform(c),
-                "Reflector should not map a character to itself");
+            if (reflector.transform(c) == c) {
+                selfMapped++;
+            }
         }
+        int size = properties.getCharset().getEnd() - properties.getCharset().getStart() + 1;
+        assertEquals(size % 2, selfMapped,
+            "Reflector should only map a character to itself when the charset size is odd");
+    }
+
+    @Test
+    void v2WiringShouldPairEveryCharacterButOne() {
+        Reflector shuffled = new Reflector(42L, WiringVersion.V2, properties);
+        int selfMapped = 0;
+        for (char c = ' '; c <= '~'; c++) {
+            assertEquals(c, shuffled.transform(shuffled.transform(c)));
+            if (shuffled.transform(c) == c) {
+                selfMapped++;
+            }
+        }
+        assertEquals(1, selfMapped);
     }
 
     @Test
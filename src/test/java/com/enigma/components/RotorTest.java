@@ -1,16 +1,22 @@
 package com.enigma.component;
 
 import com.enigma.config.EnigmaProperties;
+import com.enigma.exception.InvalidConfigurationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
 class RotorTest {
     
     @Mock
@@ -40,6 +46,27 @@ class RotorTest {
         assertEquals(testChar, restored);
     }
 
+    @Test
+    void v2WiringShouldBeReversiblePermutation() {
+        Rotor shuffled = new Rotor(42L, 0, 5, WiringVersion.V2, properties);
+        boolean[] seen = new boolean[CHARSET_SIZE];
+        for (char c = EnigmaProperties.CharsetConfig.START; c <= EnigmaProperties.CharsetConfig.END; c++) {
+            char transformed = shuffled.transform(c);
+            seen[transformed - EnigmaProperties.CharsetConfig.START] = true;
+            assertEquals(c, shuffled.transformReverse(transformed));
+        }
+        for (boolean hit : seen) {
+            assertTrue(hit, "V2 wiring should be a permutation");
+        }
+    }
+
+    @Test
+    void idShouldBeDeterministic() {
+        assertEquals(rotor.getId(), new Rotor(42L, 0, 5, properties).getId());
+        assertNotEquals(rotor.getId(), new Rotor(43L, 0, 5, properties).getId());
+        assertNotEquals(rotor.getId(), new Rotor(42L, 1, 5, properties).getId());
+    }
+
     @Test
     void fullRotationShouldReturnToInitialState() {
         char input = 'A';
@@ -0,0 +1,65 @@
+package com.enigma.component;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WiringCacheTest {
+    private final AtomicInteger generations = new AtomicInteger();
+
+    @Test
+    void shouldReuseWiringForSameKey() {
+        WiringCache cache = new WiringCache(16);
+
+        int[] first = cache.get(WiringCache.Kind.ROTOR, 42L, WiringVersion.V1, ' ', '~', generator());
+        int[] second = cache.get(WiringCache.Kind.ROTOR, 42L, WiringVersion.V1, ' ', '~', generator());
+
+        assertSame(first, second);
+        assertEquals(1, generations.get());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void shouldSeparateKindsVersionsAndRanges() {
+        WiringCache cache = new WiringCache(16);
+
+        cache.get(WiringCache.Kind.ROTOR, 42L, WiringVersion.V1, ' ', '~', generator());
+        cache.get(WiringCache.Kind.PLUGBOARD, 42L, WiringVersion.V1, ' ', '~', generator());
+        cache.get(WiringCache.Kind.ROTOR, 42L, WiringVersion.V2, ' ', '~', generator());
+        cache.get(WiringCache.Kind.ROTOR, 42L, WiringVersion.V1, 'A', 'Z', generator());
+
+        assertEquals(4, generations.get());
+        assertEquals(4, cache.size());
+    }
+
+    @Test
+    void shouldStayWithinMaxSize() {
+        WiringCache cache = new WiringCache(2);
+
+        for (long seed = 1; seed <= 5; seed++) {
+            cache.get(WiringCache.Kind.REFLECTOR, seed, WiringVersion.V1, ' ', '~', generator());
+        }
+
+        assertEquals(2, cache.size());
+        assertEquals(3, cache.evictionCount());
+    }
+
+    @Test
+    void zeroMaxSizeShouldDisableCaching() {
+        WiringCache cache = new WiringCache(0);
+
+        cache.get(WiringCache.Kind.ROTOR, 42L, WiringVersion.V1, ' ', '~', generator());
+        cache.get(WiringCache.Kind.ROTOR, 42L, WiringVersion.V1, ' ', '~', generator());
+
+        assertEquals(2, generations.get());
+        assertEquals(0, cache.size());
+    }
+
+    private Supplier<int[]> generator() {
+        return () -> new int[]{generations.incrementAndGet()};
+    }
+}
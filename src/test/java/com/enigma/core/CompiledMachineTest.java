@@ -0,0 +1,289 @@
+package com.enigma.core;
+
+import com.enigma.component.Plugboard;
+import com.enigma.component.Reflector;
+import com.enigma.component.Rotor;
+import com.enigma.component.WiringVersion;
+import com.enigma.config.EnigmaProperties;
+import com.enigma.exception.InvalidConfigurationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CompiledMachineTest {
+    @Mock
+    private EnigmaProperties properties;
+    
+    @Mock
+    private EnigmaProperties.RotorConfig rotorConfig;
+    
+    @Mock
+    private EnigmaProperties.CharsetConfig charsetConfig;
+
+    private EnigmaConfiguration config;
+
+    @BeforeEach
+    void setUp() {
+        when(properties.getRotors()).thenReturn(rotorConfig);
+        when(properties.getCharset()).thenReturn(charsetConfig);
+        when(rotorConfig.getMinRotors()).thenReturn(2);
+        when(rotorConfig.getMaxRotors()).thenReturn(12);
+        when(charsetConfig.getStart()).thenReturn(EnigmaProperties.CharsetConfig.START);
+        when(charsetConfig.getEnd()).thenReturn(EnigmaProperties.CharsetConfig.END);
+
+        config = new EnigmaConfiguration.Builder(properties)
+            .plugboardSeed(123456L)
+            .reflectorSeed(789012L)
+            .addRotor(345678L, 3, 5)
+            .addRotor(901234L, 0, 10)
+            .addRotor(567890L, 7, 15)
+            .build();
+    }
+
+    @Test
+    void shouldMatchComponentSignalPath() {
+        CompiledMachine compiled = CompiledMachine.compile(config);
+
+        String message = "The quick brown fox jumps over the lazy dog.\n".repeat(300);
+        assertEquals(processWithComponents(message), compiled.process(message));
+    }
+
+    @Test
+    void compositeTablesShouldMatchDirectPath() {
+        CompiledMachine direct = CompiledMachine.compile(config);
+        CompiledMachine composite = direct.withCompositeTables(4);
+
+        // Long enough to step the slow rotors past the cached states
+        String message = "Hello,\tWorld! ~ {composite} ".repeat(2000);
+        assertEquals(direct.process(message), composite.process(message));
+        assertEquals(message, composite.process(composite.process(message)));
+    }
+
+    @Test
+    void wiringVersionsShouldBeStable() {
+        // Changing either value breaks decryption of stored ciphertexts for that version
+        assertEquals("Dw+v;58.y*kY%hU", CompiledMachine.compile(config).process("Attack at dawn!"));
+
+        EnigmaConfiguration v2 = new EnigmaConfiguration.Builder(properties)
+            .plugboardSeed(123456L)
+            .reflectorSeed(789012L)
+            .wiringVersion(WiringVersion.V2)
+            .addRotor(345678L, 3, 5)
+            .addRotor(901234L, 0, 10)
+            .addRotor(567890L, 7, 15)
+            .build();
+        assertEquals("k,=Hp\"g!aV\"2%6M", CompiledMachine.compile(v2).process("Attack at dawn!"));
+    }
+
+    @Test
+    void vectorKernelShouldMatchDirectPath() {
+        CompiledMachine direct = CompiledMachine.compile(config);
+        CompiledMachine vector = direct.withVectorKernel();
+        assumeTrue(vector.usesVectorKernel(), "Vector kernel needs the vector profile");
+
+        String message = "Hello,\tWorld! ~ {vector} \u00e9".repeat(2000);
+        assertEquals(direct.process(message), vector.process(message));
+        assertEquals(direct.process("abc", 37), vector.process("abc", 37));
+        assertEquals(message, vector.process(vector.process(message)));
+    }
+
+    @Test
+    void stateAtShouldMatchSteppedState() {
+        CompiledMachine compiled = CompiledMachine.compile(config);
+        RotorState stepped = compiled.newState();
+        char[] filler = new char[1];
+
+        for (long offset = 0; offset < 20000; offset++) {
+            assertArrayEquals(stepped.getPositions(), compiled.stateAt(offset).getPositions(),
+                "Rotor state mismatch at offset " + offset);
+            compiled.process(filler, 0, 1, stepped);
+        }
+    }
+
+    @Test
+    void sliceShouldDecryptFromOffset() {
+        CompiledMachine compiled = CompiledMachine.compile(config);
+        String message = "Seekable decryption of a long message. ".repeat(500);
+        String encrypted = compiled.process(message);
+
+        int from = 12345;
+        int to = 15000;
+        assertEquals(message.substring(from, to),
+            compiled.process(encrypted.substring(from, to), from));
+    }
+
+    @Test
+    void parallelProcessingShouldMatchSequential() {
+        CompiledMachine compiled = CompiledMachine.compile(config);
+        String message = "Chunked across a fork/join pool. ".repeat(3000);
+
+        assertEquals(compiled.process(message),
+            compiled.processParallel(message, 997, ForkJoinPool.commonPool()));
+    }
+
+    @Test
+    void traceShouldRecordSignalPath() {
+        CompiledMachine compiled = CompiledMachine.compile(config);
+        String message = "Hi\n!";
+
+        List<SignalTrace> traces = compiled.trace(message);
+
+        assertEquals(message.length(), traces.size());
+        StringBuilder output = new StringBuilder();
+        traces.forEach(trace -> output.append(trace.output()));
+        assertEquals(compiled.process(message), output.toString());
+
+        // plugboard, 3 rotors, reflector, 3 rotors reversed, plugboard
+        assertEquals(9, traces.get(0).path().size());
+        assertEquals(traces.get(0).output(), traces.get(0).path().get(8).value());
+        assertTrue(traces.get(2).path().isEmpty(), "Non-encryptable characters have no path");
+        assertArrayEquals(compiled.stateAt(3).getPositions(), traces.get(3).positions());
+    }
+
+    @Test
+    void bytePathShouldMatchCharPathForUtf8() {
+        String message = "Caf\u00e9 \u20ac10, emoji \ud83d\ude00 and tabs\t! ".repeat(400);
+        byte[] utf8 = message.getBytes(StandardCharsets.UTF_8);
+
+        for (CompiledMachine compiled : List.of(CompiledMachine.compile(config),
+                CompiledMachine.compile(config).withCompositeTables(4))) {
+            String expected = compiled.process(message);
+
+            byte[] bytes = utf8.clone();
+            compiled.process(bytes, 0, bytes.length, compiled.newState());
+            assertEquals(expected, new String(bytes, StandardCharsets.UTF_8));
+
+            ByteBuffer direct = ByteBuffer.allocateDirect(utf8.length);
+            compiled.process(ByteBuffer.wrap(utf8), direct, compiled.newState());
+            assertFalse(direct.hasRemaining());
+            direct.flip();
+            assertEquals(expected, StandardCharsets.UTF_8.decode(direct).toString());
+        }
+    }
+
+    @Test
+    void sharedMachineShouldProcessConcurrently() throws Exception {
+        CompiledMachine compiled = CompiledMachine.compile(config);
+        List<String> messages = IntStream.range(0, 64)
+            .mapToObj(i -> "Message number " + i + " ".repeat(i * 7))
+            .toList();
+        List<String> expected = messages.stream().map(compiled::process).toList();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int round = 0; round < 10; round++) {
+                for (String message : messages) {
+                    futures.add(executor.submit(() -> compiled.process(message)));
+                }
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(expected.get(i % messages.size()), futures.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void stateShouldCarryAcrossCalls() {
+        CompiledMachine compiled = CompiledMachine.compile(config);
+        String message = "Split across two buffers";
+
+        RotorState state = compiled.newState();
+        String split = compiled.process(message.substring(0, 9), state)
+            + compiled.process(message.substring(9), state);
+
+        assertEquals(compiled.process(message), split);
+    }
+
+    private String processWithComponents(String message) {
+        Plugboard plugboard = new Plugboard(config.getPlugboardSeed(), properties);
+        Reflector reflector = new Reflector(config.getReflectorSeed(), properties);
+        List<Rotor> rotors = config.getRotors();
+        rotors.forEach(Rotor::reset);
+
+        StringBuilder result = new StringBuilder();
+        for (char c : message.toCharArray()) {
+            char current = plugboard.transform(c);
+            for (Rotor rotor : rotors) {
+                current = rotor.transform(current);
+            }
+            current = reflector.transform(current);
+            for (int i = rotors.size() - 1; i >= 0; i--) {
+                current = rotors.get(i).transformReverse(current);
+            }
+            result.append(plugboard.transform(current));
+
+            for (Rotor rotor : rotors) {
+                rotor.rotate();
+                if (!rotor.shouldAdvanceNext()) {
+                    break;
+                }
+            }
+        }
+        return result.toString();
+    }
+
+    @Test
+    void processingShouldBeReversible() {
+        CompiledMachine compiled = CompiledMachine.compile(config);
+
+        String message = "Hello, World!";
+        String encrypted = compiled.process(message);
+        assertNotEquals(message, encrypted);
+        assertEquals(message, compiled.process(encrypted));
+    }
+
+    @Test
+    void serializedFormShouldRoundTrip() {
+        CompiledMachine compiled = CompiledMachine.compile(config);
+        byte[] bytes = compiled.toBytes();
+        assertEquals(compiled.serializedSize(), bytes.length);
+        assertEquals(8 + 2 * 95 + 3 * 97 + 4, bytes.length);
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 16);
+        direct.position(16);
+        compiled.writeTo(direct);
+        direct.position(16);
+        CompiledMachine loaded = CompiledMachine.read(direct);
+
+        String message = "The quick brown fox jumps over the lazy dog. ".repeat(20);
+        assertEquals(compiled.process(message), loaded.process(message));
+        assertEquals(compiled.process(message), CompiledMachine.read(ByteBuffer.wrap(bytes)).process(message));
+        assertEquals(direct.limit(), direct.position());
+    }
+
+    @Test
+    void corruptSerializedFormShouldBeRejected() {
+        byte[] bytes = CompiledMachine.compile(config).toBytes();
+
+        byte[] flipped = bytes.clone();
+        flipped[100] ^= 1;
+        byte[] otherVersion = bytes.clone();
+        otherVersion[4] = 2;
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+
+        assertThrows(InvalidConfigurationException.class, () -> CompiledMachine.read(ByteBuffer.wrap(flipped)));
+        assertThrows(InvalidConfigurationException.class, () -> CompiledMachine.read(ByteBuffer.wrap(otherVersion)));
+        assertThrows(InvalidConfigurationException.class, () -> CompiledMachine.read(ByteBuffer.wrap(truncated)));
+    }
+}
@@ -1,5 +1,6 @@
 package com.enigma.core;
 
+import com.enigma.component.WiringVersion;
 import com.enigma.config.EnigmaProperties;
 import com.enigma.exception.InvalidConfigurationException;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,11 +8,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
 class EnigmaConfigurationTest {
     @Mock
     private EnigmaProperties properties;
@@ -72,4 +76,23 @@ class EnigmaConfigurationTest {
                 .build();
         });
     }
+
+    @Test
+    void wiringVersionShouldApplyToRotorsAddedBeforeIt() {
+        EnigmaConfiguration before = new EnigmaConfiguration.Builder(properties)
+                .wiringVersion(WiringVersion.V2)
+                .addRotor(345678L)
+                .addRotor(901234L)
+                .build();
+        EnigmaConfiguration after = new EnigmaConfiguration.Builder(properties)
+                .addRotor(345678L)
+                .addRotor(901234L)
+                .wiringVersion(WiringVersion.V2)
+                .build();
+
+        for (int i = 0; i < 2; i++) {
+            assertArrayEquals(before.getRotors().get(i).getForwardMapping(),
+                after.getRotors().get(i).getForwardMapping());
+        }
+    }
 }
@@ -0,0 +1,72 @@
+package com.enigma.core;
+
+import com.enigma.config.EnigmaProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedFileProcessorTest {
+    @TempDir
+    Path tempDir;
+
+    private CompiledMachine machine;
+
+    @BeforeEach
+    void setUp() {
+        EnigmaConfiguration config = new EnigmaConfiguration.Builder(new EnigmaProperties())
+            .plugboardSeed(123456L)
+            .reflectorSeed(789012L)
+            .addRotor(345678L, 0, 5)
+            .addRotor(901234L, 0, 10)
+            .build();
+        machine = CompiledMachine.compile(config);
+    }
+
+    @Test
+    void shouldMatchStringPathAcrossRegions() throws Exception {
+        // Region size deliberately splits multi-byte sequences between regions
+        String message = "Log line \u00e9\u20ac \ud83d\ude00 with some text\n".repeat(5000);
+        Path input = Files.writeString(tempDir.resolve("plain.txt"), message, StandardCharsets.UTF_8);
+        Path encrypted = tempDir.resolve("cipher.txt");
+        Path decrypted = tempDir.resolve("roundtrip.txt");
+
+        MappedFileProcessor processor = new MappedFileProcessor(machine, 1001, ForkJoinPool.commonPool());
+        FileProcessingResult result = processor.process(input, encrypted);
+
+        assertEquals(Files.size(input), result.bytes());
+        assertEquals(machine.process(message), Files.readString(encrypted, StandardCharsets.UTF_8));
+
+        processor.process(encrypted, decrypted);
+        assertEquals(message, Files.readString(decrypted, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void emptyFileShouldProduceEmptyOutput() throws Exception {
+        Path input = Files.createFile(tempDir.resolve("empty.txt"));
+        Path output = tempDir.resolve("out.txt");
+
+        FileProcessingResult result = new MappedFileProcessor(machine, 1024, ForkJoinPool.commonPool())
+            .process(input, output);
+
+        assertEquals(0, result.bytes());
+        assertEquals(0, Files.size(output));
+    }
+
+    @Test
+    void sameInputAndOutputShouldBeRejected() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("data.txt"), "Keep me", StandardCharsets.UTF_8);
+        MappedFileProcessor processor = new MappedFileProcessor(machine, 1024, ForkJoinPool.commonPool());
+
+        assertThrows(IllegalArgumentException.class, () -> processor.process(file, file));
+        assertThrows(IllegalArgumentException.class,
+            () -> processor.process(file, tempDir.resolve(".").resolve("data.txt")));
+        assertEquals("Keep me", Files.readString(file, StandardCharsets.UTF_8));
+    }
+}
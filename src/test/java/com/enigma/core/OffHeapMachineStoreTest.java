@@ -0,0 +1,141 @@
+package com.enigma.core;
+
+import com.enigma.config.EnigmaProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapMachineStoreTest {
+    private static final int SLAB_BYTES = 64 << 10;
+
+    private final EnigmaProperties properties = new EnigmaProperties();
+    private OffHeapMachineStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new OffHeapMachineStore(SLAB_BYTES, 16L * SLAB_BYTES);
+    }
+
+    @Test
+    void storedMachineShouldMatchHeapMachine() {
+        CompiledMachine heap = machine(5, 1);
+        CompiledMachine offHeap = store.put(1L, 0L, heap);
+        assertTrue(offHeap.isOffHeap());
+        assertFalse(heap.isOffHeap());
+
+        String message = "Off-heap wiring, read in place: été 🚀 ~".repeat(50);
+        assertEquals(heap.process(message), offHeap.process(message));
+        assertEquals(heap.process(message, 1234), offHeap.process(message, 1234));
+        assertEquals(heap.trace("Trace").stream().map(SignalTrace::path).toList(),
+            offHeap.trace("Trace").stream().map(SignalTrace::path).toList());
+        assertArrayEquals(heap.toBytes(), offHeap.toBytes());
+
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        heap.process(bytes, 0, bytes.length, heap.newState());
+        offHeap.process(direct, offHeap.newState());
+        assertEquals(ByteBuffer.wrap(bytes), direct.flip());
+    }
+
+    @Test
+    void lookupShouldRequireMatchingVersion() {
+        store.put(1L, 3L, machine(2, 1));
+
+        assertNotNull(store.get(1L, 3L));
+        assertNull(store.get(1L, 4L));
+        assertNull(store.get(2L, 3L));
+
+        store.remove(1L);
+        assertNull(store.get(1L, 3L));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void olderVersionShouldNotReplaceNewerEntry() {
+        CompiledMachine newer = machine(2, 2);
+        store.put(1L, 2L, newer);
+
+        CompiledMachine older = machine(2, 1);
+        assertSame(older, store.put(1L, 1L, older));
+        assertEquals(newer.process("Newest"), store.get(1L, 2L).process("Newest"));
+        assertEquals(CompiledMachine.offHeapLength(2), store.usedBytes());
+    }
+
+    @Test
+    void retiredAndDeletedIdsShouldRejectStaleWrites() {
+        store.put(1L, 1L, machine(2, 1));
+        store.retire(1L, 2L);
+        assertNull(store.get(1L, 1L));
+
+        CompiledMachine stale = machine(2, 1);
+        assertSame(stale, store.put(1L, 1L, stale));
+        assertTrue(store.put(1L, 2L, machine(2, 2)).isOffHeap());
+
+        store.delete(3L);
+        CompiledMachine deleted = machine(2, 3);
+        assertSame(deleted, store.put(3L, 0L, deleted));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void limitBeyondDirectMemoryShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new OffHeapMachineStore(SLAB_BYTES, OffHeapMachineStore.maxDirectMemory() + 1));
+    }
+
+    @Test
+    void replacedEntriesShouldBeCompacted() {
+        List<CompiledMachine> heap = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            heap.add(machine(3, i));
+            store.put(i, 0L, heap.get(i));
+        }
+        long reserved = store.reservedBytes();
+        CompiledMachine heldAcrossCompaction = store.get(7L, 0L);
+
+        // Replace every entry twice; dead slabs are copied out and released as they empty
+        for (int version = 1; version <= 2; version++) {
+            for (int i = 0; i < 200; i++) {
+                store.put(i, (long) version, heap.get(i));
+            }
+        }
+
+        assertEquals(200, store.size());
+        assertEquals(200L * CompiledMachine.offHeapLength(3), store.usedBytes());
+        assertTrue(store.reservedBytes() <= reserved + 2L * SLAB_BYTES,
+            "Expected dead slabs to be released but reserved " + store.reservedBytes());
+        for (int i = 0; i < 200; i += 17) {
+            assertEquals(heap.get(i).process("Compacted"), store.get(i, 2L).process("Compacted"));
+        }
+        assertEquals(heap.get(7).process("Still valid"), heldAcrossCompaction.process("Still valid"));
+    }
+
+    @Test
+    void fullStoreShouldReturnHeapMachine() {
+        OffHeapMachineStore small = new OffHeapMachineStore(SLAB_BYTES, SLAB_BYTES);
+        int fit = SLAB_BYTES / CompiledMachine.offHeapLength(12);
+        for (int i = 0; i < fit; i++) {
+            assertTrue(small.put(i, 0L, machine(12, i)).isOffHeap());
+        }
+
+        CompiledMachine overflow = machine(12, fit);
+        assertSame(overflow, small.put(fit, 0L, overflow));
+        assertEquals(fit, small.size());
+    }
+
+    private CompiledMachine machine(int rotors, long seed) {
+        EnigmaConfiguration.Builder builder = new EnigmaConfiguration.Builder(properties)
+            .plugboardSeed(100 + seed)
+            .reflectorSeed(200 + seed);
+        for (int r = 0; r < rotors; r++) {
+            builder.addRotor(300 + seed * 16 + r, (int) ((seed + r) % 95), (int) ((seed * 7 + r) % 95));
+        }
+        return CompiledMachine.compile(builder.build());
+    }
+}
@@ -1,25 +1,43 @@
 package com.enigma.integration;
 
 import com.enigma.api.dto.EncryptionRequest;
+import com.enigma.persistence.MachineConfigSequenceInitializer;
 import com.enigma.persistence.entity.MachineConfig;
 import com.enigma.persistence.entity.RotorConfiguration;
 import com.enigma.persistence.repository.MachineConfigRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.List;
 
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)  // Test contexts disable metric exporters by default
 class EnigmaIntegrationTest {
     @Autowired
     private MockMvc mockMvc;
@@ -29,6 +47,15 @@ class EnigmaIntegrationTest {
     
     @Autowired
     private MachineConfigRepository configRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MachineConfigSequenceInitializer sequenceInitializer;
     
     private Long configId;
 
@@ -86,4 +113,214 @@ class EnigmaIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.result").value("Hello, World!"));
     }
+
+    @Test
+    void traceShouldReturnSignalPath() throws Exception {
+        EncryptionRequest request = new EncryptionRequest();
+        request.setMessage("Hi");
+        request.setConfigId(configId);
+
+        mockMvc.perform(post("/api/v1/enigma/trace")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").exists())
+                .andExpect(jsonPath("$.characters.length()").value(2))
+                .andExpect(jsonPath("$.characters[0].path[0].stage").value("plugboard"))
+                .andExpect(jsonPath("$.characters[0].path.length()").value(7));
+    }
+
+    @Test
+    void streamingEncryptionShouldRoundTrip() throws Exception {
+        String message = "Streamed line of text with unicode \u00e9\n".repeat(2000);
+
+        byte[] encrypted = mockMvc.perform(post("/api/v1/enigma/encrypt/stream")
+                .param("configId", configId.toString())
+                .contentType(MediaType.TEXT_PLAIN)
+                .content(message.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        byte[] decrypted = mockMvc.perform(post("/api/v1/enigma/decrypt/stream")
+                .param("configId", configId.toString())
+                .contentType(MediaType.TEXT_PLAIN)
+                .content(encrypted))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        assertEquals(message, new String(decrypted, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void readinessProbeShouldBeUpAfterWarmup() throws Exception {
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    @Test
+    void prometheusEndpointShouldExposeHistograms() throws Exception {
+        EncryptionRequest request = new EncryptionRequest();
+        request.setMessage("Measured");
+        request.setConfigId(configId);
+        mockMvc.perform(post("/api/v1/enigma/encrypt")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("enigma_request_seconds_bucket")))
+                .andExpect(content().string(containsString("enigma_cipher_throughput_characters_per_second_bucket")));
+    }
+
+    @Test
+    void repeatedConfigLookupsShouldBeServedFromSecondLevelCache() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        MachineConfig first = configRepository.findWithRotorsById(configId).orElseThrow();
+        MachineConfig second = configRepository.findWithRotorsById(configId).orElseThrow();
+
+        assertEquals(2, first.getRotorConfigurations().size());
+        assertEquals(List.copyOf(first.getRotorConfigurations()), List.copyOf(second.getRotorConfigurations()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("hibernate_cache_query_requests_total")))
+                .andExpect(content().string(containsString("hibernate_second_level_cache_requests_total")));
+    }
+
+    @Test
+    void updatingConfigurationShouldBumpVersionAndInvalidateMachine() throws Exception {
+        String body = """
+            {"plugboardSeed": 11, "reflectorSeed": 22, "wiringVersion": "V2",
+             "rotorConfigurations": [{"seed": 33, "startPosition": 0, "notchPosition": 5},
+                        {"seed": 44, "startPosition": 1, "notchPosition": 9}]}
+            """;
+        String created = mockMvc.perform(post("/api/v1/enigma/config")
+                .with(user("admin"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.version").value(0))
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(created).get("id").asLong();
+        String before = encrypt("Versioned", id);
+
+        mockMvc.perform(put("/api/v1/enigma/config/" + id)
+                .with(user("admin"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body.replace("\"seed\": 44", "\"seed\": 45").replace("}]}", "}], \"version\": 0}")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+        assertNotEquals(before, encrypt("Versioned", id));
+
+        // The client's version is now stale
+        mockMvc.perform(put("/api/v1/enigma/config/" + id)
+                .with(user("admin"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body.replace("}]}", "}], \"version\": 0}")))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(delete("/api/v1/enigma/config/" + id)
+                .with(user("admin")))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/v1/enigma/config/" + id))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void invalidConfigurationShouldBeRejected() throws Exception {
+        mockMvc.perform(post("/api/v1/enigma/config")
+                .with(user("admin"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"plugboardSeed": 11, "reflectorSeed": 22,
+                     "rotorConfigurations": [{"seed": 33, "startPosition": 0, "notchPosition": 5}]}
+                    """))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void sequenceShouldBeMovedPastRowsWithHigherIds() {
+        // A row left from when ids were IDENTITY columns, ahead of the sequence
+        long legacyId = configId + 10_000;
+        jdbcTemplate.update("insert into enigma_configurations (id, plugboard_seed, reflector_seed, version) "
+            + "values (?, 1, 2, 0)", legacyId);
+        try {
+            sequenceInitializer.alignWithExistingRows();
+
+            Long next = jdbcTemplate.queryForObject("select next value for machine_config_seq", Long.class);
+            assertTrue(next - MachineConfig.ID_ALLOCATION_SIZE >= legacyId,
+                "Next id block must start after " + legacyId + " but sequence is at " + next);
+        } finally {
+            jdbcTemplate.update("delete from enigma_configurations where id = ?", legacyId);
+        }
+    }
+
+    @Test
+    void listShouldIncludeRotors() throws Exception {
+        // Rotors are serialized after the service's transaction has ended
+        mockMvc.perform(get("/api/v1/enigma/config").param("sort", "id,desc").param("size", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[?(@.id == " + configId + ")].rotorConfigurations[*].seed",
+                        containsInAnyOrder(345678, 901234)));
+    }
+
+    @Test
+    void anonymousClientsShouldOnlyReadConfigurations() throws Exception {
+        mockMvc.perform(get("/api/v1/enigma/config/" + configId))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/enigma/config/" + configId))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/v1/enigma/config/import")
+                .contentType("text/csv")
+                .content("plugboardSeed,reflectorSeed,wiringVersion,rotors\n"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/v1/enigma/config/" + configId))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void bulkImportShouldBatchInserts() throws Exception {
+        StringBuilder body = new StringBuilder("plugboardSeed,reflectorSeed,wiringVersion,rotors\n");
+        for (int i = 1; i <= 200; i++) {
+            body.append(i).append(',').append(i + 1).append(",V2,").append(i + 2).append(":0:5;")
+                .append(i + 3).append(":1:9\n");
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(post("/api/v1/enigma/config/import")
+                .with(user("admin"))
+                .contentType("text/csv")
+                .content(body.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(200))
+                .andExpect(jsonPath("$.rejected").value(0));
+
+        assertEquals(200, statistics.getEntityInsertCount());
+        // 200 configs and 400 rotor rows in batches of 50, plus a few sequence calls
+        assertTrue(statistics.getPrepareStatementCount() < 30,
+            "Expected batched inserts but prepared " + statistics.getPrepareStatementCount());
+    }
+
+    private String encrypt(String message, long id) throws Exception {
+        EncryptionRequest request = new EncryptionRequest();
+        request.setMessage(message);
+        request.setConfigId(id);
+        String response = mockMvc.perform(post("/api/v1/enigma/encrypt")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("result").asText();
+    }
 }
@@ -0,0 +1,147 @@
+package com.enigma.service;
+
+import com.enigma.config.EnigmaProperties;
+import com.enigma.core.CompiledMachine;
+import com.enigma.core.EnigmaConfiguration;
+import com.enigma.monitoring.EnigmaMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledMachineCacheTest {
+    private SimpleMeterRegistry registry;
+    private CompiledMachineCache cache;
+    private final AtomicInteger compilations = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        EnigmaProperties properties = new EnigmaProperties();
+        properties.getCache().setMaxSize(2);
+        registry = new SimpleMeterRegistry();
+        cache = new CompiledMachineCache(properties, new EnigmaMetrics(registry));
+    }
+
+    @Test
+    void shouldReturnCachedMachineForSameVersion() {
+        CompiledMachine first = cache.get(1L, 0L, compiler());
+        CompiledMachine second = cache.get(1L, 0L, compiler());
+
+        assertSame(first, second);
+        assertEquals(1, compilations.get());
+    }
+
+    @Test
+    void newVersionShouldReplaceEntry() {
+        CompiledMachine first = cache.get(1L, 0L, compiler());
+        CompiledMachine second = cache.get(1L, 1L, compiler());
+
+        assertNotSame(first, second);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void olderVersionShouldNotReplaceNewerEntry() {
+        CompiledMachine newer = cache.get(1L, 1L, compiler());
+        cache.get(1L, 0L, compiler());
+
+        assertSame(newer, cache.get(1L, 1L, compiler()));
+        assertEquals(2, compilations.get());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryShouldBeEvicted() {
+        cache.get(1L, 0L, compiler());
+        cache.get(2L, 0L, compiler());
+        cache.get(1L, 0L, compiler());
+        cache.get(3L, 0L, compiler());
+
+        assertEquals(2, cache.size());
+        assertEquals(1.0, registry.get("enigma.machine.cache.evictions").counter().count());
+
+        cache.get(1L, 0L, compiler());
+        assertEquals(3, compilations.get(), "Recently used entry should survive eviction");
+    }
+
+    @Test
+    void invalidateShouldForceRecompilation() {
+        cache.get(1L, 0L, compiler());
+        cache.invalidate(1L);
+        cache.get(1L, 0L, compiler());
+
+        assertEquals(2, compilations.get());
+    }
+
+    @Test
+    void changeEventShouldEvictOnlyStaleEntry() {
+        cache.get(1L, 0L, compiler());
+        cache.get(2L, 0L, compiler());
+
+        cache.onConfigurationChanged(new ConfigurationChangedEvent(1L, 1L, ConfigurationChangedEvent.Type.UPDATED));
+        cache.onConfigurationChanged(new ConfigurationChangedEvent(2L, 0L, ConfigurationChangedEvent.Type.UPDATED));
+        assertEquals(1, cache.size());
+
+        cache.onConfigurationChanged(new ConfigurationChangedEvent(2L, 0L, ConfigurationChangedEvent.Type.DELETED));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void offHeapStoreShouldServeEntriesEvictedFromLru() {
+        EnigmaProperties properties = new EnigmaProperties();
+        properties.getCache().setMaxSize(1);
+        properties.getCache().setOffHeap(true);
+        properties.getCache().setOffHeapSlabBytes(1 << 20);
+        properties.getCache().setOffHeapMaxBytes(4 << 20);
+        CompiledMachineCache offHeapCache = new CompiledMachineCache(properties, new EnigmaMetrics(registry));
+        Supplier<CompiledMachine> compiler = () -> {
+            compilations.incrementAndGet();
+            return CompiledMachine.compile(new EnigmaConfiguration.Builder(properties)
+                .addRotor(1L, 0, 5)
+                .addRotor(2L, 0, 9)
+                .build());
+        };
+
+        CompiledMachine first = offHeapCache.get(1L, 0L, compiler);
+        offHeapCache.get(2L, 0L, compiler);
+        CompiledMachine reloaded = offHeapCache.get(1L, 0L, compiler);
+
+        assertTrue(reloaded.isOffHeap());
+        assertEquals(first.process("Evicted"), reloaded.process("Evicted"));
+        assertEquals(2, compilations.get());
+        assertEquals(1.0, registry.get("enigma.machine.cache").tag("result", "off-heap").counter().count());
+        assertEquals(2.0, registry.get("enigma.machine.offheap.entries").gauge().value());
+    }
+
+    @Test
+    void deleteDuringLookupShouldNotLeaveOffHeapEntry() {
+        EnigmaProperties properties = new EnigmaProperties();
+        properties.getCache().setOffHeap(true);
+        properties.getCache().setOffHeapSlabBytes(1 << 20);
+        properties.getCache().setOffHeapMaxBytes(4 << 20);
+        CompiledMachineCache offHeapCache = new CompiledMachineCache(properties, new EnigmaMetrics(registry));
+
+        // The configuration was read before the delete committed; the compile finishes after it
+        CompiledMachine machine = offHeapCache.get(1L, 0L, () -> {
+            offHeapCache.onConfigurationChanged(new ConfigurationChangedEvent(1L, 0L, ConfigurationChangedEvent.Type.DELETED));
+            return CompiledMachine.compile(new EnigmaConfiguration.Builder(properties)
+                .addRotor(1L, 0, 5)
+                .addRotor(2L, 0, 9)
+                .build());
+        });
+
+        assertFalse(machine.isOffHeap());
+        assertEquals(0.0, registry.get("enigma.machine.offheap.entries").gauge().value());
+    }
+
+    private Supplier<CompiledMachine> compiler() {
+        return () -> {
+            compilations.incrementAndGet();
+            return Mockito.mock(CompiledMachine.class);
+        };
+    }
+}
@@ -0,0 +1,121 @@
+package com.enigma.service;
+
+import com.enigma.component.WiringVersion;
+import com.enigma.config.EnigmaProperties;
+import com.enigma.persistence.entity.MachineConfig;
+import com.enigma.validation.ConfigurationValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConfigurationImporterTest {
+    @Mock
+    private ConfigurationService configurationService;
+
+    private final List<Integer> chunkSizes = new ArrayList<>();
+    private final List<MachineConfig> saved = new ArrayList<>();
+    private int failFromChunk = Integer.MAX_VALUE;
+    private ConfigurationImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        EnigmaProperties properties = new EnigmaProperties();
+        properties.getBulkImport().setChunkSize(2);
+        importer = new ConfigurationImporter(configurationService,
+            new ConfigurationValidator(properties), new ObjectMapper(), properties);
+        when(configurationService.createAll(anyList())).thenAnswer(invocation -> {
+            if (chunkSizes.size() >= failFromChunk) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            List<MachineConfig> chunk = List.copyOf(invocation.getArgument(0));
+            chunkSizes.add(chunk.size());
+            saved.addAll(chunk);
+            return chunk;
+        });
+    }
+
+    @Test
+    void jsonLinesShouldBePersistedInChunks() throws Exception {
+        String rotors = "\"rotorConfigurations\": [{\"seed\": 3, \"startPosition\": 0, \"notchPosition\": 5},"
+            + " {\"seed\": 4, \"startPosition\": 1, \"notchPosition\": 6}]";
+        String input = ("{\"plugboardSeed\": 1, \"reflectorSeed\": 2, " + rotors + "}\n").repeat(5)
+            + "\n{\"plugboardSeed\": 1, \"reflectorSeed\": 2, \"wiringVersion\": \"V2\", " + rotors + "}\n";
+
+        ImportResult result = importer.importConfigurations(stream(input), ImportFormat.JSONL);
+
+        assertEquals(6, result.imported());
+        assertEquals(0, result.rejected());
+        assertEquals(List.of(2, 2, 2), chunkSizes);
+        assertEquals(WiringVersion.V2, saved.get(5).getWiringVersion());
+    }
+
+    @Test
+    void invalidCsvRowsShouldBeRejectedWithLineNumbers() throws Exception {
+        String input = """
+            plugboardSeed,reflectorSeed,wiringVersion,rotors
+            1,2,V2,3:0:5;4:1:6
+            1,2,,3:0:5
+            1,2,V9,3:0:5;4:1:6
+            1,2,,3:0:5;4:1:95
+            1,2,,3:0:5;4:1:6
+            """;
+
+        ImportResult result = importer.importConfigurations(stream(input), ImportFormat.CSV);
+
+        assertEquals(2, result.imported());
+        assertEquals(3, result.rejected());
+        assertEquals(List.of(2), chunkSizes);
+        assertEquals(3, result.errors().size());
+        assertTrue(result.errors().get(0).startsWith("Line 3: Number of rotors"));
+        assertTrue(result.errors().get(1).startsWith("Line 4: "));
+        assertTrue(result.errors().get(2).startsWith("Line 5: Invalid rotor position 95"));
+        assertEquals(4, saved.get(1).getRotorConfigurations().get(1).getSeed());
+    }
+
+    @Test
+    void nullRowsAndRotorsShouldBeRejectedPerLine() throws Exception {
+        String rotor = "{\"seed\": 3, \"startPosition\": 0, \"notchPosition\": 5}";
+        String valid = "{\"plugboardSeed\": 1, \"reflectorSeed\": 2, \"rotorConfigurations\": [" + rotor + ", " + rotor + "]}";
+        String input = valid + "\nnull\n{\"plugboardSeed\": 1, \"reflectorSeed\": 2, \"rotorConfigurations\": ["
+            + rotor + ", null]}\n" + valid + "\n";
+
+        ImportResult result = importer.importConfigurations(stream(input), ImportFormat.JSONL);
+
+        assertTrue(result.completed());
+        assertEquals(2, result.imported());
+        assertEquals(2, result.rejected());
+        assertTrue(result.errors().get(0).startsWith("Line 2: "));
+        assertTrue(result.errors().get(1).startsWith("Line 3: Rotor configuration must not be null"));
+    }
+
+    @Test
+    void failedChunkShouldStopImportAndReportCommittedRows() throws Exception {
+        failFromChunk = 1;
+        String input = "1,2,,3:0:5;4:1:6\n".repeat(5);
+
+        ImportResult result = importer.importConfigurations(stream(input), ImportFormat.CSV);
+
+        assertFalse(result.completed());
+        assertEquals(2, result.imported());
+        assertEquals(2, result.rejected());
+        assertTrue(result.errors().get(0).startsWith("Line 4: import stopped, 2 pending rows were not imported"));
+    }
+
+    private static ByteArrayInputStream stream(String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,116 @@
+package com.enigma.service;
+
+import com.enigma.config.EnigmaProperties;
+import com.enigma.exception.ConfigurationConflictException;
+import com.enigma.exception.InvalidConfigurationException;
+import com.enigma.persistence.entity.MachineConfig;
+import com.enigma.persistence.repository.MachineConfigRepository;
+import com.enigma.validation.ConfigurationValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConfigurationServiceTest {
+    @Mock
+    private MachineConfigRepository configRepository;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    private ConfigurationService service;
+
+    @BeforeEach
+    void setUp() {
+        EnigmaProperties properties = new EnigmaProperties();
+        service = new ConfigurationService(configRepository,
+            new ConfigurationValidator(properties), events, properties);
+    }
+
+    @Test
+    void createShouldSaveAndPublishEvent() {
+        when(configRepository.saveAndFlush(any())).thenAnswer(invocation -> {
+            MachineConfig config = invocation.getArgument(0);
+            config.setId(7L);
+            config.setVersion(0L);
+            return config;
+        });
+
+        MachineConfig created = service.create(command(2, null));
+
+        assertEquals(2, created.getRotorConfigurations().size());
+        assertNotNull(created.getCompiledWiring());
+        verify(events).publishEvent(new ConfigurationChangedEvent(7L, 0L, ConfigurationChangedEvent.Type.CREATED));
+    }
+
+    @Test
+    void invalidConfigurationShouldNotBeSaved() {
+        ConfigurationCommand command = new ConfigurationCommand(123L, 456L, null,
+            List.of(new ConfigurationCommand.Rotor(1000L, 0, 10), new ConfigurationCommand.Rotor(1001L, 1, 95)), null);
+
+        assertThrows(InvalidConfigurationException.class, () -> service.create(command));
+        verify(configRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(events);
+    }
+
+    @Test
+    void updateShouldReplaceRotorsAndPublishNewVersion() {
+        MachineConfig existing = new MachineConfig();
+        existing.setId(3L);
+        existing.setVersion(4L);
+        when(configRepository.findWithRotorsById(3L)).thenReturn(Optional.of(existing));
+        when(configRepository.saveAndFlush(existing)).thenAnswer(invocation -> {
+            existing.setVersion(5L);
+            return existing;
+        });
+
+        MachineConfig updated = service.update(3L, command(3, 4L));
+
+        assertEquals(3, updated.getRotorConfigurations().size());
+        verify(events).publishEvent(new ConfigurationChangedEvent(3L, 5L, ConfigurationChangedEvent.Type.UPDATED));
+    }
+
+    @Test
+    void staleVersionShouldBeRejected() {
+        MachineConfig existing = new MachineConfig();
+        existing.setId(3L);
+        existing.setVersion(4L);
+        when(configRepository.findWithRotorsById(3L)).thenReturn(Optional.of(existing));
+
+        ConfigurationCommand command = command(2, 3L);
+
+        assertThrows(ConfigurationConflictException.class, () -> service.update(3L, command));
+        verify(configRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void deleteShouldPublishEvent() {
+        MachineConfig existing = new MachineConfig();
+        existing.setId(3L);
+        existing.setVersion(4L);
+        when(configRepository.findWithRotorsById(3L)).thenReturn(Optional.of(existing));
+
+        service.delete(3L);
+
+        verify(configRepository).delete(existing);
+        verify(events).publishEvent(new ConfigurationChangedEvent(3L, 4L, ConfigurationChangedEvent.Type.DELETED));
+    }
+
+    private static ConfigurationCommand command(int rotorCount, Long version) {
+        List<ConfigurationCommand.Rotor> rotors = IntStream.range(0, rotorCount)
+            .mapToObj(i -> new ConfigurationCommand.Rotor(1000L + i, i, 10 + i))
+            .toList();
+        return new ConfigurationCommand(123L, 456L, null, rotors, version);
+    }
+}
@@ -1,17 +1,28 @@
 package com.enigma.service;
 
 import com.enigma.config.EnigmaProperties;
+import com.enigma.core.CompiledMachine;
+import com.enigma.exception.ResourceNotFoundException;
+import com.enigma.monitoring.EnigmaMetrics;
 import com.enigma.persistence.entity.MachineConfig;
+import com.enigma.persistence.entity.RotorConfiguration;
 import com.enigma.persistence.repository.MachineConfigRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,6 +40,9 @@ class EnigmaServiceTest {
     @Mock
     private EnigmaProperties.CharsetConfig charsetConfig;
     
+    private final EnigmaProperties.ParallelConfig parallelConfig = new EnigmaProperties.ParallelConfig();
+    private SimpleMeterRegistry registry;
+    private CompiledMachineCache machineCache;
     private EnigmaService enigmaService;
 
     @BeforeEach
@@ -39,14 +53,20 @@ class EnigmaServiceTest {
         when(rotorConfig.getMaxRotors()).thenReturn(12);
         when(charsetConfig.getStart()).thenReturn(EnigmaProperties.CharsetConfig.START);
         when(charsetConfig.getEnd()).thenReturn(EnigmaProperties.CharsetConfig.END);
+        when(properties.getCache()).thenReturn(new EnigmaProperties.CacheConfig());
+        when(properties.getEngine()).thenReturn(new EnigmaProperties.EngineConfig());
+        lenient().when(properties.getParallel()).thenReturn(parallelConfig);
         
-        enigmaService = new EnigmaService(configRepository, properties);
+        registry = new SimpleMeterRegistry();
+        EnigmaMetrics metrics = new EnigmaMetrics(registry);
+        machineCache = new CompiledMachineCache(properties, metrics);
+        enigmaService = new EnigmaService(configRepository, properties, machineCache, metrics);
     }
 
     @Test
     void encryptionShouldBeReversible() {
         MachineConfig config = createTestConfig();
-        when(configRepository.findById(1L)).thenReturn(Optional.of(config));
+        when(configRepository.findWithRotorsById(1L)).thenReturn(Optional.of(config));
         
         String message = "Test Message";
         String encrypted = enigmaService.encrypt(message, 1L);
@@ -55,11 +75,177 @@ class EnigmaServiceTest {
         assertEquals(message, decrypted);
     }
 
+    @Test
+    void largeMessagesShouldMatchSingleThreadedResult() {
+        MachineConfig config = createTestConfig();
+        when(configRepository.findWithRotorsById(1L)).thenReturn(Optional.of(config));
+        String message = "A large payload split into chunks. ".repeat(1000);
+
+        String sequential = enigmaService.encrypt(message, 1L);
+
+        parallelConfig.setThreshold(1024);
+        parallelConfig.setChunkSize(1000);
+        String parallel = enigmaService.encrypt(message, 1L);
+
+        assertEquals(sequential, parallel);
+        assertEquals(message, enigmaService.decrypt(parallel, 1L));
+    }
+
+    @Test
+    void decryptAtShouldDecryptSliceFromItsOffset() {
+        MachineConfig config = createTestConfig();
+        when(configRepository.findWithRotorsById(1L)).thenReturn(Optional.of(config));
+        String plaintext = "Seek into the middle of a long ciphertext. ".repeat(50);
+        String ciphertext = enigmaService.encrypt(plaintext, 1L);
+
+        int k = 1234;
+        assertEquals(plaintext.substring(k), enigmaService.decryptAt(ciphertext.substring(k), 1L, k));
+        assertEquals(1.0, registry.get("enigma.operations").tag("type", "decryption").counter().count());
+        assertThrows(IllegalArgumentException.class, () -> enigmaService.decryptAt("abc", 1L, -1));
+        assertEquals(1.0, registry.get("enigma.errors").counter().count());
+    }
+
+    @Test
+    void batchShouldResolveEachConfigurationOnce() {
+        MachineConfig config = createTestConfig();
+        config.setId(1L);
+        when(configRepository.findAllWithRotorsByIdIn(any())).thenReturn(List.of(config));
+
+        List<BatchItem> items = List.of(
+            batchItem("First", 1L),
+            batchItem("Second", 2L),
+            batchItem("Third", 1L));
+
+        List<BatchResult> results = enigmaService.processBatch(items, true);
+
+        assertEquals(3, results.size());
+        assertEquals(enigmaService.processBatch(List.of(batchItem("First", 1L)), false).get(0).result(),
+            results.get(0).result());
+        assertNull(results.get(1).result());
+        assertEquals("Configuration not found", results.get(1).error());
+        assertNotNull(results.get(2).result());
+        assertEquals(4.0, registry.get("enigma.operations").tag("type", "encryption").counter().count());
+        assertEquals(1.0, registry.get("enigma.errors").counter().count());
+        assertEquals(1.0, registry.get("enigma.machine.cache").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void repeatedRequestsShouldReuseCompiledMachine() {
+        MachineConfig config = createTestConfig();
+        config.setVersion(0L);
+        when(configRepository.findWithRotorsById(1L)).thenReturn(Optional.of(config));
+
+        String first = enigmaService.encrypt("Test Message", 1L);
+        String second = enigmaService.encrypt("Test Message", 1L);
+
+        assertEquals(first, second);
+        assertEquals(1.0, registry.get("enigma.machine.cache").tag("result", "miss").counter().count());
+        assertEquals(1.0, registry.get("enigma.machine.cache").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void changedConfigurationShouldBeRecompiled() {
+        MachineConfig config = createTestConfig();
+        config.setVersion(0L);
+        when(configRepository.findWithRotorsById(1L)).thenReturn(Optional.of(config));
+        String before = enigmaService.encrypt("Test Message", 1L);
+
+        config.setPlugboardSeed(654321L);
+        config.setVersion(1L);
+        String after = enigmaService.encrypt("Test Message", 1L);
+
+        assertNotEquals(before, after);
+        assertEquals(2.0, registry.get("enigma.machine.cache").tag("result", "miss").counter().count());
+    }
+
     private MachineConfig createTestConfig() {
         MachineConfig config = new MachineConfig();
         config.setPlugboardSeed(123456L);
         config.setReflectorSeed(789012L);
-        // Add rotor configurations...
+        config.setRotorConfigurations(List.of(
+            createRotor(345678L, 0, 5),
+            createRotor(901234L, 0, 10)
+        ));
         return config;
     }
+
+    @Test
+    void encryptionShouldRecordTimingsAndSizes() {
+        MachineConfig config = createTestConfig();
+        when(configRepository.findWithRotorsById(17L)).thenReturn(Optional.of(config));
+
+        enigmaService.encrypt("Timed message", 17L);
+
+        assertEquals(1, registry.get("enigma.request").tag("operation", "encrypt")
+            .tag("rotors", "2").timer().count());
+        assertEquals(1, registry.get("enigma.cipher").timer().count());
+        assertEquals(13.0, registry.get("enigma.message.length").summary().totalAmount());
+        assertEquals(1, registry.get("enigma.config.lookup").timer().count());
+        assertEquals(1, registry.get("enigma.machine.build").tag("rotors", "2").timer().count());
+        assertEquals(1.0, registry.get("enigma.operations").tag("type", "encryption").counter().count());
+    }
+
+    @Test
+    void streamsShouldRecordBytesWithoutCipherThroughput() throws IOException {
+        MachineConfig config = createTestConfig();
+        when(configRepository.findWithRotorsById(1L)).thenReturn(Optional.of(config));
+        when(properties.getStreaming()).thenReturn(new EnigmaProperties.StreamingConfig());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        enigmaService.encrypt(1L, new ByteArrayInputStream("Streamed message".getBytes(StandardCharsets.UTF_8)), out);
+
+        assertEquals(16.0, registry.get("enigma.stream.size").tag("operation", "encrypt-stream").summary().totalAmount());
+        assertEquals(1, registry.get("enigma.request").tag("operation", "encrypt-stream").timer().count());
+        assertNull(registry.find("enigma.cipher.throughput").summary());
+        assertEquals(1.0, registry.get("enigma.operations").tag("type", "encryption").counter().count());
+
+        when(configRepository.findWithRotorsById(2L)).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> enigmaService.decrypt(2L,
+            new ByteArrayInputStream(new byte[0]), new ByteArrayOutputStream()));
+        assertEquals(1.0, registry.get("enigma.errors").counter().count());
+    }
+
+    @Test
+    void preloadedConfigurationsShouldBeServedFromCache() {
+        MachineConfig config = createTestConfig();
+        config.setId(1L);
+        when(configRepository.findAllWithRotorsByIdIn(any())).thenReturn(List.of(config));
+        when(configRepository.findWithRotorsById(1L)).thenReturn(Optional.of(config));
+
+        assertEquals(1, enigmaService.preload(List.of(1L, 2L)).size());
+        enigmaService.encrypt("Warm", 1L);
+
+        assertEquals(1.0, registry.get("enigma.machine.cache").tag("result", "miss").counter().count());
+        assertEquals(1.0, registry.get("enigma.machine.cache").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void storedWiringShouldBeLoadedInsteadOfRegenerated() {
+        MachineConfig stored = createTestConfig();
+        stored.getRotorConfigurations().get(0).setSeed(999L);
+        CompiledMachine expected = CompiledMachine.compile(EnigmaService.configuration(stored, properties));
+
+        // Seeds disagree with the stored wiring, so the output shows which one was used
+        MachineConfig config = createTestConfig();
+        config.setCompiledWiring(expected.toBytes());
+        when(configRepository.findWithRotorsById(1L)).thenReturn(Optional.of(config));
+        assertEquals(expected.process("Stored wiring"), enigmaService.encrypt("Stored wiring", 1L));
+
+        config.getCompiledWiring()[10] ^= 1;
+        config.setVersion(1L);
+        String regenerated = CompiledMachine.compile(EnigmaService.configuration(config, properties)).process("Stored wiring");
+        assertEquals(regenerated, enigmaService.encrypt("Stored wiring", 1L));
+    }
+
+    private BatchItem batchItem(String message, Long configId) {
+        return new BatchItem(message, configId, BatchItem.Operation.ENCRYPT);
+    }
+
+    private RotorConfiguration createRotor(long seed, int startPosition, int notchPosition) {
+        RotorConfiguration rotor = new RotorConfiguration();
+        rotor.setSeed(seed);
+        rotor.setStartPosition(startPosition);
+        rotor.setNotchPosition(notchPosition);
+        return rotor;
+    }
 }
\ No newline at end of file
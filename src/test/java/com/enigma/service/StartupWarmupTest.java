@@ -0,0 +1,61 @@
+package com.enigma.service;
+
+import com.enigma.config.EnigmaProperties;
+import com.enigma.core.CompiledMachine;
+import com.enigma.persistence.repository.MachineConfigRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StartupWarmupTest {
+    @Mock
+    private EnigmaService enigmaService;
+
+    @Mock
+    private MachineConfigRepository configRepository;
+
+    private final EnigmaProperties properties = new EnigmaProperties();
+    private StartupWarmup warmup;
+
+    @BeforeEach
+    void setUp() {
+        properties.getWarmup().setCharacters(10_000);
+        warmup = new StartupWarmup(enigmaService, configRepository, properties);
+    }
+
+    @Test
+    void shouldPreloadListedAndLatestConfigurations() {
+        properties.getWarmup().setConfigIds(List.of(7L));
+        properties.getWarmup().setLatestConfigs(2);
+        when(configRepository.findLatestIds(PageRequest.of(0, 2))).thenReturn(List.of(9L, 7L));
+        when(enigmaService.preload(any())).thenReturn(List.of());
+
+        warmup.run(new DefaultApplicationArguments());
+
+        verify(enigmaService).preload(Set.of(7L, 9L));
+    }
+
+    @Test
+    void shouldSkipRepositoryWhenLatestConfigsIsZero() {
+        properties.getWarmup().setLatestConfigs(0);
+        when(enigmaService.preload(any())).thenReturn(List.<CompiledMachine>of());
+
+        warmup.run(new DefaultApplicationArguments());
+
+        verify(enigmaService).preload(Set.of());
+        verifyNoInteractions(configRepository);
+    }
+}
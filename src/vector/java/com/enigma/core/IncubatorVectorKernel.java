@@ -0,0 +1,113 @@
+package com.enigma.core;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD signal path built on the incubating Vector API. Between two notch crossings only the
+ * fast rotor moves and its offset grows by one per character, so a run of characters can be
+ * pushed through the rotor stack lane-wise with gathered table lookups. Compiled only with
+ * the {@code vector} profile and created through {@link VectorSupport}.
+ */
+final class IncubatorVectorKernel implements VectorKernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private final CompiledMachine machine;
+    private final int start;
+    private final int size;
+    private final int[] plugboard;
+    private final int[] reflector;
+    private final int[][] forwardMappings;
+    private final int[][] reverseMappings;
+    private final int[] notchPositions;
+    private final IntVector iota;
+
+    IncubatorVectorKernel(CompiledMachine machine, int start, int size, int[] plugboard, int[] reflector, int[][] forwardMappings,
+                 int[][] reverseMappings, int[] notchPositions) {
+        this.machine = machine;
+        this.start = start;
+        this.size = size;
+        this.plugboard = plugboard;
+        this.reflector = reflector;
+        this.forwardMappings = forwardMappings;
+        this.reverseMappings = reverseMappings;
+        this.notchPositions = notchPositions;
+        this.iota = IntVector.zero(SPECIES).addIndex(1);
+    }
+
+    @Override
+    public void process(char[] buffer, int offset, int length, int[] positions) {
+        int[] lanes = new int[SPECIES.length()];
+        int[] scratch = new int[SPECIES.length()];
+        int i = offset;
+        int end = offset + length;
+        while (i < end) {
+            // Characters until the fast rotor lands on its notch share one slow-rotor state
+            int run = Math.min(end - i, Math.floorMod(notchPositions[0] - positions[0] - 1, size) + 1);
+            int done = 0;
+            for (; done + SPECIES.length() <= run; done += SPECIES.length()) {
+                processLanes(buffer, i + done, positions, done, lanes, scratch);
+            }
+            for (; done < run; done++) {
+                int fast = positions[0];
+                positions[0] = (fast + done) % size;
+                buffer[i + done] = machine.processChar(buffer[i + done], positions);
+                positions[0] = fast;
+            }
+            // Move the fast rotor to the last processed position, then take the final step
+            // through the regular odometer so notch carries cascade exactly as in scalar mode
+            positions[0] = (positions[0] + run - 1) % size;
+            machine.advanceRotors(positions);
+            i += run;
+        }
+    }
+
+    private void processLanes(char[] buffer, int from, int[] positions, int runOffset,
+                              int[] lanes, int[] scratch) {
+        for (int j = 0; j < lanes.length; j++) {
+            lanes[j] = buffer[from + j] - start;
+        }
+        IntVector input = IntVector.fromArray(SPECIES, lanes, 0);
+        VectorMask<Integer> encryptable = input.compare(VectorOperators.GE, 0)
+            .and(input.compare(VectorOperators.LT, size));
+        IntVector current = input.blend(0, encryptable.not());
+
+        IntVector fastOffset = wrap(iota.add(positions[0] + runOffset));
+
+        current = gather(plugboard, current, scratch);
+        current = shift(forwardMappings[0], current, fastOffset, scratch);
+        for (int r = 1; r < forwardMappings.length; r++) {
+            current = shift(forwardMappings[r], current, IntVector.broadcast(SPECIES, positions[r]), scratch);
+        }
+        current = gather(reflector, current, scratch);
+        for (int r = reverseMappings.length - 1; r >= 1; r--) {
+            current = shift(reverseMappings[r], current, IntVector.broadcast(SPECIES, positions[r]), scratch);
+        }
+        current = shift(reverseMappings[0], current, fastOffset, scratch);
+        current = gather(plugboard, current, scratch);
+
+        current.add(start).blend(input.add(start), encryptable.not()).intoArray(lanes, 0);
+        for (int j = 0; j < lanes.length; j++) {
+            buffer[from + j] = (char) lanes[j];
+        }
+    }
+
+    private IntVector shift(int[] mapping, IntVector pos, IntVector offset, int[] scratch) {
+        // Rotor tables are doubled, so pos + offset indexes them without wrapping
+        IntVector mapped = gather(mapping, pos.add(offset), scratch);
+        IntVector unshifted = mapped.sub(offset);
+        return unshifted.add(size, unshifted.compare(VectorOperators.LT, 0));
+    }
+
+    // Operands are always below 2 * size, so one conditional subtract replaces the modulo
+    private IntVector wrap(IntVector v) {
+        return v.sub(size, v.compare(VectorOperators.GE, size));
+    }
+
+    private static IntVector gather(int[] table, IntVector index, int[] scratch) {
+        index.intoArray(scratch, 0);
+        return IntVector.fromArray(SPECIES, table, 0, scratch, 0);
+    }
+}